@@ -6,6 +6,7 @@ package ru.dubov.segmentsintersect;
 
 
 import ru.dubov.primitives.Point;
+import ru.dubov.primitives.Predicates;
 import ru.dubov.primitives.Segment;
 
 /**
@@ -17,8 +18,7 @@ import ru.dubov.primitives.Segment;
 public class SegmentsIntersect {
     
     private static double direction(Point p0, Point p1, Point p2) {
-        return ((p2.getX() - p0.getX()) * (p1.getY() - p0.getY()) -
-                (p2.getY() - p0.getY()) * (p1.getX() - p0.getX()));
+        return Predicates.orient2d(p0, p2, p1);
     }
 
     private static boolean onSegment(Point pi, Point pj, Point pk) {
@@ -5,6 +5,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.TreeSet;
 import ru.dubov.primitives.Point;
+import ru.dubov.primitives.Predicates;
 import ru.dubov.primitives.Segment;
 
 
@@ -18,19 +19,26 @@ public class SegmentsIntersect {
      * @return true, if any segments intersect, false otherwise
      */
     public static boolean any_Naive(ArrayList<Segment> segments) {
+        return findIntersection_Naive(segments).isFound();
+    }
+    
+    /**
+     * Looks for a pair of intersecting segments in the given set
+     * using the naive approach that runs in O(n^2).
+     * 
+     * @param segments The set of segments
+     * @return The result containing the intersecting pair, if any
+     */
+    public static Result findIntersection_Naive(ArrayList<Segment> segments) {
         for (int i = 0; i < segments.size() - 1; i++) {
             for (int j = i + 1; j < segments.size(); j++) {
                 if (SegmentsIntersect.two(segments.get(i), segments.get(j))) {
-                    
-                    segm1 = segments.get(i);
-                    segm2 = segments.get(j);
-                    
-                    return true;
+                    return new Result(segments.get(i), segments.get(j));
                 }
             }
         }
         
-        return false;
+        return Result.NONE;
     }
     
     /**
@@ -41,6 +49,33 @@ public class SegmentsIntersect {
      * @return true, if any segments intersect, false otherwise
      */
     public static boolean any(ArrayList<Segment> segments) {
+        return findIntersection(segments).isFound();
+    }
+    
+    /**
+     * Looks for a pair of intersecting segments in the given set
+     * using the "sweeping line" algorithm that runs in O(n*lg(n)).
+     * 
+     * The method is thread-safe: every call runs its own sweep,
+     * so independent sets of segments can be checked concurrently.
+     * 
+     * @param segments The set of segments
+     * @return The result containing the intersecting pair, if any
+     */
+    public static Result findIntersection(ArrayList<Segment> segments) {
+        return new SegmentsIntersect().sweep(segments);
+    }
+    
+    private SegmentsIntersect() {
+        segmentsComparator = new SegmentsComparator();
+    }
+    
+    /**
+     * Runs the sweeping line over the given set of segments.
+     * The state of the sweep is kept in the instance,
+     * so an instance should be used only once.
+     */
+    private Result sweep(ArrayList<Segment> segments) {
         
         // A Red-Black tree that will support an ordered set of
         // segments with O(n*lg(n)) time complexity
@@ -56,7 +91,6 @@ public class SegmentsIntersect {
         Collections.sort(points, PointsComparatorX);
 
         Segment pSegm;
-        foundBoundaryCase = false;
         
         for (Point p : points) { // Проход по упорядоченному списку точек
             
@@ -72,23 +106,17 @@ public class SegmentsIntersect {
                 if ((segmentsTree.lower(pSegm) != null &&
                         SegmentsIntersect.two(segmentsTree.lower(pSegm), pSegm))) {
                     
-                    segm1 = segmentsTree.lower(pSegm);
-                    segm2 = pSegm;
-                    
-                    return true;
+                    return new Result(segmentsTree.lower(pSegm), pSegm);
                 }
                 
                 if ((segmentsTree.higher(pSegm) != null &&
                         SegmentsIntersect.two(segmentsTree.higher(pSegm), pSegm))) {
                     
-                    segm1 = segmentsTree.higher(pSegm);
-                    segm2 = pSegm;
-                    
-                    return true;
+                    return new Result(segmentsTree.higher(pSegm), pSegm);
                 }
                 
                 if(foundBoundaryCase) {
-                    return true;
+                    return new Result(segm1, segm2);
                 }
                 
             } else { // p.isRight()
@@ -98,10 +126,7 @@ public class SegmentsIntersect {
                     SegmentsIntersect.two(segmentsTree.higher(pSegm),
                                             segmentsTree.lower(pSegm))) {
                     
-                    segm1 = segmentsTree.higher(pSegm);
-                    segm2 = segmentsTree.lower(pSegm);
-                    
-                    return true;
+                    return new Result(segmentsTree.higher(pSegm), segmentsTree.lower(pSegm));
                 }
                 
                 segmentsTree.remove(pSegm);
@@ -109,22 +134,7 @@ public class SegmentsIntersect {
             
         }
         
-        return false;
-    }
-    
-    /**
-     * Returns a pair of intersecting segments.
-     * (to be called after the algorithm finished its work).
-     * 
-     * @return ArrayList that contains the required pair.
-     */
-    public static ArrayList<Segment> intersectingSegments() {
-        ArrayList<Segment> result = new ArrayList<Segment>();
-        
-        result.add(segm1);
-        result.add(segm2);
-        
-        return result;
+        return Result.NONE;
     }
     
     /**
@@ -163,8 +173,7 @@ public class SegmentsIntersect {
     }
     
     private static double direction(Point p0, Point p1, Point p2) {
-        return ((p2.getX() - p0.getX()) * (p1.getY() - p0.getY()) -
-                (p2.getY() - p0.getY()) * (p1.getX() - p0.getX()));
+        return Predicates.orient2d(p0, p2, p1);
     }
 
     private static boolean onSegment(Point pi, Point pj, Point pk) {
@@ -177,7 +186,7 @@ public class SegmentsIntersect {
     /**
      * Compares two segments in some X coordinate.
      */
-    static class SegmentsComparator implements Comparator<Segment>  {
+    class SegmentsComparator implements Comparator<Segment>  {
 
         @Override
         public int compare(Segment s1, Segment s2) {
@@ -256,12 +265,62 @@ public class SegmentsIntersect {
         private double x;
     }
     
+    /**
+     * The result of the search for intersecting segments:
+     * whether an intersection has been found and the pair of
+     * segments that intersect (both null if there is none).
+     */
+    public static class Result {
+        
+        public Result(Segment s1, Segment s2) {
+            this.s1 = s1;
+            this.s2 = s2;
+        }
+        
+        /**
+         * Determines whether any two segments intersect.
+         * 
+         * @return true, if an intersecting pair has been found, false otherwise
+         */
+        public boolean isFound() {
+            return (s1 != null);
+        }
+        
+        public Segment getFirst() {
+            return s1;
+        }
+        
+        public Segment getSecond() {
+            return s2;
+        }
+        
+        /**
+         * Returns the pair of intersecting segments.
+         * 
+         * @return ArrayList that contains the required pair
+         *         (empty if there are no intersections)
+         */
+        public ArrayList<Segment> getSegments() {
+            ArrayList<Segment> result = new ArrayList<Segment>();
+            
+            if (isFound()) {
+                result.add(s1);
+                result.add(s2);
+            }
+            
+            return result;
+        }
+        
+        /** The result for a set of segments with no intersections **/
+        public static final Result NONE = new Result(null, null);
+        
+        private final Segment s1, s2;
+    }
+    
     
     
     // Comparators initialization
     static {
-        segmentsComparator = new SegmentsComparator();
-        
         PointsComparatorX = new Comparator<Point>() {
             
             public int compare(Point p1, Point p2) {
@@ -295,12 +354,13 @@ public class SegmentsIntersect {
     // the one for comparing two segments in some X coordinate
     // (user in the RB-tree), and the other for the 
     // initial points sorting "from the left to the right".
-    private static SegmentsComparator segmentsComparator;
-    private static Comparator<Point> PointsComparatorX;
+    // The first one keeps the state of the sweep, so there is one per sweep.
+    private final SegmentsComparator segmentsComparator;
+    private static final Comparator<Point> PointsComparatorX;
     
     // Dealing with the boundary cases
-    private static boolean foundBoundaryCase;
+    private boolean foundBoundaryCase;
     
-    // Here a pair of intersecting segments is stored
-    private static Segment segm1, segm2;
+    // Here a pair of intersecting segments found in a boundary case is stored
+    private Segment segm1, segm2;
 }
\ No newline at end of file
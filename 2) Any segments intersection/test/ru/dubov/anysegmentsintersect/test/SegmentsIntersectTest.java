@@ -3,6 +3,10 @@ package ru.dubov.anysegmentsintersect.test;
 import ru.dubov.anysegmentsintersect.SegmentsIntersect;
 import java.util.ArrayList;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import junit.framework.TestCase;
 import ru.dubov.anysegmentsintersect.SegmentsIntersect;
 import ru.dubov.primitives.Point;
@@ -81,4 +85,49 @@ public class SegmentsIntersectTest extends TestCase {
         }
         
     }
+    
+    public void testFindIntersection_Concurrent() throws Exception {
+        
+        Random rand = new Random();
+        final ArrayList<ArrayList<Segment>> sets = new ArrayList<ArrayList<Segment>>();
+        
+        for (int repeat = 0; repeat < 2000; repeat++) {
+            ArrayList<Segment> segments = new ArrayList<Segment>();
+            int n = 2 + rand.nextInt(30);
+            
+            for(int j = 0; j < n; j++) {
+                segments.add(new Segment(new Point(rand.nextDouble()*100, rand.nextDouble()*100),
+                                         new Point(rand.nextDouble()*100, rand.nextDouble()*100)));
+            }
+            sets.add(segments);
+        }
+        
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        ArrayList<Future<SegmentsIntersect.Result>> futures =
+                new ArrayList<Future<SegmentsIntersect.Result>>();
+        
+        for (final ArrayList<Segment> segments : sets) {
+            futures.add(pool.submit(new Callable<SegmentsIntersect.Result>() {
+                
+                @Override
+                public SegmentsIntersect.Result call() {
+                    return SegmentsIntersect.findIntersection(segments);
+                }
+            }));
+        }
+        
+        for (int i = 0; i < sets.size(); i++) {
+            SegmentsIntersect.Result result = futures.get(i).get();
+            
+            assertTrue(result.isFound() == SegmentsIntersect.any_Naive(sets.get(i)));
+            
+            if (result.isFound()) {
+                assertTrue(SegmentsIntersect.two(result.getFirst(), result.getSecond()));
+            } else {
+                assertTrue(result.getSegments().isEmpty());
+            }
+        }
+        
+        pool.shutdown();
+    }
 }
@@ -1,8 +1,14 @@
 package ru.dubov.convexhull;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import ru.dubov.primitives.IndexSort;
 import ru.dubov.primitives.Point;
+import ru.dubov.primitives.PointSet;
+import ru.dubov.primitives.PointSource;
 import ru.dubov.primitives.Polygon;
+import ru.dubov.primitives.Predicates;
 
 /**
  * Builds the convex hull of a given set of points
@@ -18,10 +24,11 @@ public class ConvexHull {
      */ 
     public static Polygon Graham(ArrayList<Point> pointsList) {
 
-        // Clone the list of points as it will be changed during the algorithm.
+        // Copy the points that may lie on the convex hull (see AklToussaint)
+        // as the list will be changed during the algorithm.
         // We assume that pointsList.size >= 3.
         
-        ArrayList<Point> points = (ArrayList<Point>)pointsList.clone();
+        ArrayList<Point> points = prefilterOctagon(pointsList);
         Stack<Point> result = new Stack<Point>();
 
         // Get the lowest most left point - the first vertex of the convex hull - in O(n)
@@ -75,6 +82,704 @@ public class ConvexHull {
         return new Polygon(polygon);
     }
     
+    /**
+     * Builds the convex hull of a given set of points
+     * using the Graham's scan algorithm - O(n*log(n)).
+     * 
+     * Works on the point indices only, so that
+     * no Point objects are created.
+     * 
+     * @param points The set of points
+     * @return The indices of the convex hull vertices in CCW order,
+     *         starting with the lowest one (a single vertex
+     *         if all the points coincide)
+     */ 
+    public static int[] Graham(PointSource points) {
+        
+        // Discard the points that cannot lie on the convex hull - in O(n)
+        
+        int[] candidates = AklToussaint(points);
+        int n = candidates.length;
+        
+        if (n == 0) {
+            return candidates;
+        }
+        
+        // Get the lowest most left point - the first vertex of the convex hull - in O(n)
+        
+        int p0 = getLowestPoint(points, candidates);
+        
+        int[] sorted = new int[n - 1];
+        for (int i = 0, k = 0; i < n; i++) {
+            if (candidates[i] != p0) {
+                sorted[k++] = candidates[i];
+            }
+        }
+        
+        // Sort the rest of the points by their polar angle - in O(n*log(n))
+        
+        IndexSort.sort(sorted, new IndexComparator(points, p0));
+        
+        // Traverse the sorted point list, using a plain array as the stack - in O(n)
+        
+        int[] stack = new int[n];
+        int top = 0;
+        stack[top++] = p0;
+        
+        for (int pi : sorted) {
+            while (top >= 2 && crossProduct(points, stack[top - 2], stack[top - 1], pi) <= 0) {
+                top--;
+            }
+            
+            stack[top++] = pi;
+        }
+        
+        // The stack contains the vertices in CCW order;
+        // all the points may coincide
+        
+        if (top == 2 && points.getX(stack[0]) == points.getX(stack[1]) &&
+                points.getY(stack[0]) == points.getY(stack[1])) {
+            top = 1;
+        }
+        
+        return Arrays.copyOf(stack, top);
+    }
+    
+    /**
+     * Builds the convex hull of a given set of points
+     * using the Andrew's monotone chain algorithm - O(n*log(n)).
+     */
+    public static Polygon MonotoneChain(ArrayList<Point> points) {
+        
+        int[] hull = MonotoneChain(new PointSet(points));
+        
+        ArrayList<Point> polygon = new ArrayList<Point>(hull.length);
+        for (int i : hull) {
+            polygon.add(points.get(i));
+        }
+        
+        return new Polygon(polygon);
+    }
+    
+    /**
+     * Builds the convex hull of a given set of points
+     * using the Andrew's monotone chain algorithm - O(n*log(n)).
+     * 
+     * The points are sorted lexicographically by (x, y) instead of
+     * the polar angle, so the sort needs no cross products: a primitive
+     * sort of long keys (in parallel for large n) orders the points
+     * by their X coordinates rounded to float, and only the runs of
+     * equal keys are then sorted exactly. The lower and the upper
+     * chains are built in the same plain array.
+     * 
+     * @param points The set of points
+     * @return The indices of the convex hull vertices in CCW order,
+     *         starting with the lowest one (as in the Graham's scan)
+     */
+    public static int[] MonotoneChain(PointSource points) {
+        
+        int n = points.size();
+        int[] sorted = sortLexicographically(points);
+        
+        if (n < 2) {
+            return sorted;
+        }
+        
+        int[] hull = new int[2 * n];
+        int k = chain(points, sorted, 0, n, hull, 0);
+        
+        // Start with the lowest vertex
+        int start = 0;
+        for (int i = 1; i < k; i++) {
+            if (points.getY(hull[i]) < points.getY(hull[start]) ||
+                    points.getY(hull[i]) == points.getY(hull[start]) &&
+                    points.getX(hull[i]) < points.getX(hull[start])) {
+                start = i;
+            }
+        }
+        
+        int[] result = new int[k];
+        System.arraycopy(hull, start, result, 0, k - start);
+        System.arraycopy(hull, 0, result, k - start, start);
+        
+        return result;
+    }
+    
+    /**
+     * Builds the lower and the upper chains of the points sorted[from, to),
+     * which are sorted by (x, y), into hull[hullFrom, hullFrom + 2 * (to - from)).
+     * 
+     * @return The number of vertices of the convex hull, which are
+     *         in CCW order starting with the leftmost one
+     */
+    private static int chain(PointSource points, int[] sorted, int from, int to,
+                             int[] hull, int hullFrom) {
+        
+        if (to - from == 1) {
+            hull[hullFrom] = sorted[from];
+            return 1;
+        }
+        
+        int k = hullFrom;
+        
+        // The lower chain, from left to right ...
+        for (int i = from; i < to; i++) {
+            while (k >= hullFrom + 2 &&
+                    crossProduct(points, hull[k - 2], hull[k - 1], sorted[i]) <= 0) {
+                k--;
+            }
+            hull[k++] = sorted[i];
+        }
+        
+        // ... and the upper chain, from right to left
+        for (int i = to - 2, lower = k + 1; i >= from; i--) {
+            while (k >= lower && crossProduct(points, hull[k - 2], hull[k - 1], sorted[i]) <= 0) {
+                k--;
+            }
+            hull[k++] = sorted[i];
+        }
+        
+        // The last vertex is the first one again;
+        // all the points may coincide
+        k = k - 1 - hullFrom;
+        if (k == 2 && points.getX(hull[hullFrom]) == points.getX(hull[hullFrom + 1]) &&
+                points.getY(hull[hullFrom]) == points.getY(hull[hullFrom + 1])) {
+            k = 1;
+        }
+        
+        return k;
+    }
+    
+    /**
+     * Sorts the point indices by (x, y).
+     */
+    private static int[] sortLexicographically(PointSource points) {
+        
+        int n = points.size();
+        
+        int[] sorted = new int[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = i;
+        }
+        sortLexicographically(points, sorted, new long[n], 0, n);
+        
+        return sorted;
+    }
+    
+    /**
+     * Sorts the point indices in sorted[from, to) by (x, y),
+     * using keys[from, to) as the scratch space.
+     * 
+     * Each key has the X coordinate rounded to float (which keeps
+     * the order) in the high 32 bits, with the bits arranged so that
+     * the keys compare as the floats, and the index in the low ones.
+     */
+    private static void sortLexicographically(PointSource points, int[] sorted, long[] keys,
+                                              int from, int to) {
+        
+        for (int i = from; i < to; i++) {
+            // Adding 0 turns -0.0 into 0.0
+            int bits = Float.floatToIntBits((float)points.getX(sorted[i]) + 0.0f);
+            bits ^= (bits >> 31) & 0x7FFFFFFF;
+            keys[i] = ((long)bits << 32) | sorted[i];
+        }
+        
+        if (to - from < PARALLEL_SORT_THRESHOLD) {
+            Arrays.sort(keys, from, to);
+        } else {
+            Arrays.parallelSort(keys, from, to);
+        }
+        
+        for (int i = from; i < to; i++) {
+            sorted[i] = (int)keys[i];
+        }
+        
+        // The points with the same key are sorted exactly
+        IndexSort.IndexComparator c = null;
+        for (int i = from, j; i < to; i = j) {
+            j = i + 1;
+            while (j < to && (keys[j] >>> 32) == (keys[i] >>> 32)) {
+                j++;
+            }
+            if (j - i > 1) {
+                if (c == null) {
+                    c = new LexicographicComparator(points);
+                }
+                IndexSort.sort(sorted, i, j, c);
+            }
+        }
+    }
+    
+    /**
+     * Builds the convex hull of a given set of points
+     * using the Chan's algorithm - O(n*log(h)),
+     * where h is the number of vertices in the hull.
+     */
+    public static Polygon Chan(ArrayList<Point> points) {
+        
+        int[] hull = Chan(new PointSet(points));
+        
+        ArrayList<Point> polygon = new ArrayList<Point>(hull.length);
+        for (int i : hull) {
+            polygon.add(points.get(i));
+        }
+        
+        return new Polygon(polygon);
+    }
+    
+    /**
+     * Builds the convex hull of a given set of points
+     * using the Chan's algorithm - O(n*log(h)),
+     * where h is the number of vertices in the hull.
+     * 
+     * The points are split into groups of m consecutive points,
+     * and the convex hull of each group is built by the monotone chain
+     * algorithm in O(n*log(m)). Then the Jarvis' march is done over the
+     * groups: the next vertex is chosen among the tangents from the
+     * current one to the convex hulls of the groups, each found by
+     * binary search, so a step takes O((n/m)*log(m)). If the hull
+     * is not closed in m steps, everything is repeated with m squared;
+     * since the sizes grow doubly exponentially, the total time
+     * is O(n*log(h)). The first m is 256, as smaller groups
+     * do not pay off.
+     * 
+     * The coordinates of the vertices of each group hull are copied
+     * together, so that the binary searches do not jump over the
+     * whole point set.
+     * 
+     * See "Optimal output-sensitive convex hull algorithms in two
+     * and three dimensions" by Timothy M. Chan for details.
+     * 
+     * @param points The set of points
+     * @return The indices of the convex hull vertices in CCW order,
+     *         starting with the lowest one (as in the Graham's scan)
+     */
+    public static int[] Chan(PointSource points) {
+        
+        int n = points.size();
+        if (n < 3) {
+            return MonotoneChain(points);
+        }
+        
+        int p0 = 0;
+        for (int i = 1; i < n; i++) {
+            if (points.getY(i) < points.getY(p0) ||
+                    points.getY(i) == points.getY(p0) && points.getX(i) < points.getX(p0)) {
+                p0 = i;
+            }
+        }
+        
+        // The hull of the group g is stored in hulls[2*g*m, 2*g*m + hullSize[g]),
+        // with the coordinates of the vertices in hullX and hullY;
+        // position[p] is the position of p in the hull of its group, or -1
+        int[] sorted = new int[n];
+        long[] keys = new long[n];
+        int[] hulls = new int[2 * n];
+        double[] hullX = new double[2 * n], hullY = new double[2 * n];
+        int[] hullSize = new int[n];
+        int[] position = new int[n];
+        
+        for (int t = 3; ; t++) {
+            
+            int m = (t >= 5 ? n : (int)Math.min(n, 1L << (1 << t)));
+            int groups = (n + m - 1) / m;
+            
+            // The convex hulls of the groups ...
+            Arrays.fill(position, -1);
+            for (int g = 0; g < groups; g++) {
+                int from = g * m, to = Math.min(n, from + m);
+                for (int i = from; i < to; i++) {
+                    sorted[i] = i;
+                }
+                sortLexicographically(points, sorted, keys, from, to);
+                
+                int base = 2 * from;
+                hullSize[g] = chain(points, sorted, from, to, hulls, base);
+                for (int j = 0; j < hullSize[g]; j++) {
+                    position[hulls[base + j]] = j;
+                    hullX[base + j] = points.getX(hulls[base + j]);
+                    hullY[base + j] = points.getY(hulls[base + j]);
+                }
+            }
+            
+            // ... and the Jarvis' march over them, at most m steps
+            int[] result = new int[m + 1];
+            int h = 0;
+            int p = p0;
+            result[h++] = p0;
+            
+            for (int step = 0; step < m; step++) {
+                
+                double px = points.getX(p), py = points.getY(p);
+                int next = -1;
+                double nextX = 0, nextY = 0;
+                
+                for (int g = 0; g < groups; g++) {
+                    int base = 2 * g * m, k = hullSize[g];
+                    int r;
+                    if (g == p / m && position[p] != -1) {
+                        // p is on the hull of its own group
+                        r = (k > 1 ? (position[p] + 1) % k : -1);
+                    } else {
+                        r = tangent(hullX, hullY, base, k, px, py);
+                    }
+                    if (r != -1 && (next == -1 || isBetterNext(px, py, nextX, nextY,
+                                                               hullX[base + r], hullY[base + r]))) {
+                        next = hulls[base + r];
+                        nextX = hullX[base + r];
+                        nextY = hullY[base + r];
+                    }
+                }
+                
+                // All the points coincide or the hull is closed
+                if (next == -1 || nextX == points.getX(p0) && nextY == points.getY(p0)) {
+                    return Arrays.copyOf(result, h);
+                }
+                
+                result[h++] = next;
+                p = next;
+            }
+        }
+    }
+    
+    /**
+     * Finds the tangent from (px, py) to the convex hull with the vertices
+     * (hullX[i], hullY[i]), base <= i < base + k (CCW, no three of them
+     * collinear) that has the whole hull to the left of it, i.e.
+     * the vertex that is the first one clockwise as seen from the point
+     * (and the farthest one on ties) - in O(log(k)).
+     * 
+     * The angle of the vertex as seen from the point first grows and then
+     * decreases along the hull, so the minimum is found by binary search
+     * as for the extreme vertex in a direction. If the point is not strictly
+     * outside the hull (it may coincide with a vertex), the result is
+     * checked and the vertices are scanned in O(k) if needed.
+     * 
+     * @return The position of the vertex in the hull,
+     *         or -1 if all the vertices coincide with the point
+     */
+    private static int tangent(double[] hullX, double[] hullY, int base, int k,
+                               double px, double py) {
+        
+        if (k <= 3) {
+            return tangentLinear(hullX, hullY, base, k, px, py);
+        }
+        
+        // The invariant: the tangent is at one of the positions a..b (mod k)
+        int a = 0, b = k;
+        boolean upA = isTurningLeft(hullX, hullY, base, k, a, px, py);
+        
+        while (b - a > 2) {
+            int c = (a + b) >>> 1;
+            boolean upC = isTurningLeft(hullX, hullY, base, k, c, px, py);
+            int ia = base + a % k, ic = base + c % k;
+            boolean cBelowA = Predicates.orient2d(px, py, hullX[ia], hullY[ia],
+                                                  hullX[ic], hullY[ic]) < 0;
+            
+            if (upA ? (upC && cBelowA) : ! (! upC && cBelowA)) {
+                b = c;
+            } else {
+                a = c;
+                upA = upC;
+            }
+        }
+        
+        int r = a % k;
+        for (int i = a + 1; i <= b; i++) {
+            if (isBetterNext(px, py, hullX[base + r], hullY[base + r],
+                             hullX[base + i % k], hullY[base + i % k])) {
+                r = i % k;
+            }
+        }
+        
+        // The check: neither neighbour is to the right of the tangent
+        int q = base + r;
+        int prev = base + (r + k - 1) % k, next = base + (r + 1) % k;
+        if (hullX[q] == px && hullY[q] == py ||
+                Predicates.orient2d(px, py, hullX[q], hullY[q], hullX[prev], hullY[prev]) < 0 ||
+                Predicates.orient2d(px, py, hullX[q], hullY[q], hullX[next], hullY[next]) < 0) {
+            return tangentLinear(hullX, hullY, base, k, px, py);
+        }
+        
+        // A farther neighbour on the same ray
+        if (isBetterNext(px, py, hullX[q], hullY[q], hullX[prev], hullY[prev])) {
+            q = prev;
+        }
+        if (isBetterNext(px, py, hullX[q], hullY[q], hullX[next], hullY[next])) {
+            q = next;
+        }
+        
+        return q - base;
+    }
+    
+    /**
+     * Finds the tangent from (px, py) to the convex hull
+     * by scanning all its vertices - in O(k).
+     */
+    private static int tangentLinear(double[] hullX, double[] hullY, int base, int k,
+                                     double px, double py) {
+        
+        int result = -1;
+        for (int i = base; i < base + k; i++) {
+            if (hullX[i] == px && hullY[i] == py) {
+                continue;
+            }
+            if (result == -1 || isBetterNext(px, py, hullX[result], hullY[result],
+                                             hullX[i], hullY[i])) {
+                result = i;
+            }
+        }
+        
+        return (result == -1 ? -1 : result - base);
+    }
+    
+    /**
+     * Checks whether the angle of the hull vertices as seen from (px, py)
+     * grows on the edge from the vertex i to the next one.
+     */
+    private static boolean isTurningLeft(double[] hullX, double[] hullY, int base, int k,
+                                         int i, double px, double py) {
+        int i1 = base + i % k, i2 = base + (i + 1) % k;
+        return Predicates.orient2d(px, py, hullX[i1], hullY[i1], hullX[i2], hullY[i2]) > 0;
+    }
+    
+    /**
+     * Checks whether the point q2 should be taken as the next vertex
+     * of the convex hull after p instead of q1 in the Jarvis' march:
+     * q2 is to the right of (p, q1) or on the same ray but farther.
+     */
+    private static boolean isBetterNext(double px, double py, double q1x, double q1y,
+                                        double q2x, double q2y) {
+        double cross = Predicates.orient2d(px, py, q1x, q1y, q2x, q2y);
+        if (cross != 0) {
+            return cross < 0;
+        }
+        double d1 = (q1x - px) * (q1x - px) + (q1y - py) * (q1y - py);
+        double d2 = (q2x - px) * (q2x - px) + (q2y - py) * (q2y - py);
+        return d2 > d1;
+    }
+    
+    /**
+     * Builds the convex hull of a given set of points
+     * using a "divide and conquer" algorithm in O(n*log(n)),
+     * building the hulls of the parts by the Graham's scan
+     * in parallel as fork-join tasks in the common pool.
+     * 
+     * @param points The set of points
+     * @return The indices of the convex hull vertices in CCW order,
+     *         starting with the lowest one (as in the Graham's scan)
+     */
+    public static int[] GrahamParallel(PointSource points) {
+        return GrahamParallel(points, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Builds the convex hull of a given set of points
+     * using a "divide and conquer" algorithm in O(n*log(n)),
+     * building the hulls of the parts by the Graham's scan
+     * in parallel as fork-join tasks in the given pool.
+     * 
+     * The points that are left after the Akl-Toussaint heuristic
+     * are split into vertical slabs by the X coordinate (at the median
+     * of a sample) until there are a few slabs per thread,
+     * and the hulls of the slabs are built by the Graham's scan.
+     * The hulls of adjacent slabs are separated by a vertical line,
+     * so they are merged in linear time by finding the upper
+     * and the lower tangents to both of them.
+     * 
+     * The point source should be safe to read from several threads.
+     * 
+     * @param points The set of points
+     * @param pool The fork-join pool
+     * @return The indices of the convex hull vertices in CCW order,
+     *         starting with the lowest one (as in the Graham's scan)
+     */
+    public static int[] GrahamParallel(PointSource points, ForkJoinPool pool) {
+        
+        int n = points.size();
+        if (n < 3) {
+            return MonotoneChain(points);
+        }
+        
+        // Discard the points that cannot lie on the convex hull once for all
+        // the slabs, since narrow slabs get little from it - in O(n)
+        int[] candidates = AklToussaint(points);
+        int m = candidates.length;
+        int slabSize = Math.max(MIN_SLAB_SIZE, m / (4 * pool.getParallelism()));
+        
+        int[] hull = pool.invoke(new HullTask(points, candidates, 0, m, slabSize));
+        
+        return removeCollinear(points, hull);
+    }
+    
+    /**
+     * Builds the convex hull of the points indices[from, to)
+     * that all lie in one slab, using the Graham's scan
+     * on a copy of their coordinates.
+     */
+    private static int[] slabHull(PointSource points, int[] indices, int from, int to) {
+        
+        int k = to - from;
+        double[] xs = new double[k], ys = new double[k];
+        for (int i = 0; i < k; i++) {
+            xs[i] = points.getX(indices[from + i]);
+            ys[i] = points.getY(indices[from + i]);
+        }
+        
+        int[] hull = Graham(new PointSet(xs, ys));
+        
+        for (int i = 0; i < hull.length; i++) {
+            hull[i] = indices[from + hull[i]];
+        }
+        
+        return hull;
+    }
+    
+    /**
+     * Merges the convex hulls of two sets of points separated by a vertical
+     * line (the left one first) - in O(h1 + h2). The upper tangent is found
+     * by moving its ends up over both hulls from the rightmost vertex of the
+     * left hull and the leftmost one of the right hull while a vertex is
+     * above the line, and the lower one the same way; of the collinear
+     * vertices, the outer ones are taken.
+     */
+    private static int[] merge(PointSource points, int[] left, int[] right) {
+        
+        int l = left.length, r = right.length;
+        
+        int a0 = 0, b0 = 0;
+        for (int i = 1; i < l; i++) {
+            if (points.getX(left[i]) > points.getX(left[a0])) {
+                a0 = i;
+            }
+        }
+        for (int i = 1; i < r; i++) {
+            if (points.getX(right[i]) < points.getX(right[b0])) {
+                b0 = i;
+            }
+        }
+        
+        // The upper tangent: CCW on the left hull, CW on the right one
+        int ua = a0, ub = b0;
+        for (boolean moved = true; moved; ) {
+            moved = false;
+            while (isOutside(points, right[ub], left[ua], left[(ua + 1) % l], 1)) {
+                ua = (ua + 1) % l;
+                moved = true;
+            }
+            while (isOutside(points, left[ua], right[ub], right[(ub + r - 1) % r], -1)) {
+                ub = (ub + r - 1) % r;
+                moved = true;
+            }
+        }
+        
+        // The lower tangent: CW on the left hull, CCW on the right one
+        int la = a0, lb = b0;
+        for (boolean moved = true; moved; ) {
+            moved = false;
+            while (isOutside(points, right[lb], left[la], left[(la + l - 1) % l], -1)) {
+                la = (la + l - 1) % l;
+                moved = true;
+            }
+            while (isOutside(points, left[la], right[lb], right[(lb + 1) % r], 1)) {
+                lb = (lb + 1) % r;
+                moved = true;
+            }
+        }
+        
+        // The left hull from ua to la and the right one from lb to ub, CCW
+        int k1 = (la - ua + l) % l + 1, k2 = (ub - lb + r) % r + 1;
+        int[] result = new int[k1 + k2];
+        for (int i = 0; i < k1; i++) {
+            result[i] = left[(ua + i) % l];
+        }
+        for (int i = 0; i < k2; i++) {
+            result[k1 + i] = right[(lb + i) % r];
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Checks whether the end q of a tangent (p, q) should move to its
+     * neighbour q2: q2 lies to the left of the line from p through q
+     * (for the sign 1; to the right for -1), or on it but farther from p.
+     */
+    private static boolean isOutside(PointSource points, int p, int q, int q2, int sign) {
+        double cross = crossProduct(points, p, q, q2);
+        if (cross != 0) {
+            return (sign > 0 ? cross < 0 : cross > 0);
+        }
+        return squaredDist(points, p, q2) > squaredDist(points, p, q);
+    }
+    
+    /**
+     * Removes the vertices that lie on the edges of a convex hull
+     * (and the duplicate ones), and makes it start with the lowest vertex.
+     */
+    private static int[] removeCollinear(PointSource points, int[] hull) {
+        
+        int k = hull.length;
+        int[] result = new int[k];
+        int from = 0, to = 0;
+        
+        boolean collinear = true;
+        for (int i = 0; i < k && collinear; i++) {
+            collinear = (crossProduct(points, hull[(i + k - 1) % k], hull[i], hull[(i + 1) % k]) == 0);
+        }
+        
+        if (collinear) {
+            
+            // The hull is a segment or a point
+            LexicographicComparator c = new LexicographicComparator(points);
+            int min = hull[0], max = hull[0];
+            for (int i : hull) {
+                if (c.compare(i, min) < 0) {
+                    min = i;
+                }
+                if (c.compare(i, max) > 0) {
+                    max = i;
+                }
+            }
+            result[to++] = min;
+            if (c.compare(min, max) != 0) {
+                result[to++] = max;
+            }
+            
+        } else {
+            
+            for (int v : hull) {
+                while (to >= 2 && crossProduct(points, result[to - 2], result[to - 1], v) == 0) {
+                    to--;
+                }
+                result[to++] = v;
+            }
+            
+            // The same around the first vertex
+            while (to - from >= 3 && crossProduct(points, result[to - 2], result[to - 1], result[from]) == 0) {
+                to--;
+            }
+            while (to - from >= 3 && crossProduct(points, result[to - 1], result[from], result[from + 1]) == 0) {
+                from++;
+            }
+        }
+        
+        int start = from;
+        for (int i = from + 1; i < to; i++) {
+            if (points.getY(result[i]) < points.getY(result[start]) ||
+                    points.getY(result[i]) == points.getY(result[start]) &&
+                    points.getX(result[i]) < points.getX(result[start])) {
+                start = i;
+            }
+        }
+        
+        int[] rotated = new int[to - from];
+        System.arraycopy(result, start, rotated, 0, to - start);
+        System.arraycopy(result, from, rotated, to - start, start - from);
+        
+        return rotated;
+    }
+    
     /**
      * Builds the convex hull of a given set of points
      * using the Jarvis' march algorithm - O(n*h),
@@ -83,10 +788,11 @@ public class ConvexHull {
      */
     public static Polygon Jarvis(ArrayList<Point> pointsList) {
 
-        // Clone the list of points as it will be changed during the algorithm.
+        // Copy the points that may lie on the convex hull (see AklToussaint)
+        // as the list will be changed during the algorithm.
         // We assume that pointsList.size >= 3.
         
-        ArrayList<Point> points = (ArrayList<Point>)pointsList.clone();
+        ArrayList<Point> points = prefilterOctagon(pointsList);
         ArrayList<Point> result = new ArrayList<Point>();
 
         // Get the lowest most left point - the first vertex of the convex hull - in O(n)
@@ -136,6 +842,206 @@ public class ConvexHull {
         return new Polygon(result);
     }
     
+    /**
+     * Discards the points that cannot be the vertices of the convex hull
+     * using the Akl-Toussaint heuristic - O(n).
+     * 
+     * The extreme points in the 8 directions (along the axes
+     * and the diagonals) are found, and then the points strictly inside
+     * the octagon they form are discarded in a single pass over the
+     * coordinates. For points uniformly distributed in a square,
+     * only O(sqrt(n)) points are expected to remain; in a disk,
+     * about 10% of them (the part of the disk outside the octagon).
+     * 
+     * The test uses plain floating-point arithmetic, so the points
+     * that are within a rounding error from an edge of the octagon
+     * are kept; a vertex of the convex hull is never discarded.
+     * 
+     * See "A Fast Convex Hull Algorithm" by S. G. Akl and G. T. Toussaint
+     * (Information Processing Letters, 1978) for details.
+     * 
+     * @param points The set of points
+     * @return The indices of the remaining points in increasing order
+     */
+    public static int[] AklToussaint(PointSource points) {
+        
+        int n = points.size();
+        if (n == 0) {
+            return new int[0];
+        }
+        
+        // The extreme points, in CCW order: min y, max x-y, max x,
+        // max x+y, max y, min x-y, min x, min x+y (the values are negated
+        // for the minimums, so that all of them are maximized)
+        int[] extreme = new int[8];
+        double[] value = new double[8];
+        Arrays.fill(value, Double.NEGATIVE_INFINITY);
+        double maxAbs = 0;
+        
+        for (int i = 0; i < n; i++) {
+            double x = points.getX(i), y = points.getY(i);
+            if (-y > value[0]) { value[0] = -y; extreme[0] = i; }
+            if (x - y > value[1]) { value[1] = x - y; extreme[1] = i; }
+            if (x > value[2]) { value[2] = x; extreme[2] = i; }
+            if (x + y > value[3]) { value[3] = x + y; extreme[3] = i; }
+            if (y > value[4]) { value[4] = y; extreme[4] = i; }
+            if (y - x > value[5]) { value[5] = y - x; extreme[5] = i; }
+            if (-x > value[6]) { value[6] = -x; extreme[6] = i; }
+            if (-x - y > value[7]) { value[7] = -x - y; extreme[7] = i; }
+            maxAbs = Math.max(maxAbs, Math.max(Math.abs(x), Math.abs(y)));
+        }
+        
+        // All the points coincide, so none of them is inside
+        if (value[2] == -value[6] && value[4] == -value[0]) {
+            int[] result = new int[n];
+            for (int i = 0; i < n; i++) {
+                result[i] = i;
+            }
+            return result;
+        }
+        
+        // The inner side of each edge (a, b) of the octagon:
+        // nx*x + ny*y > c, where (nx, ny) is (b - a) rotated by 90 degrees
+        // and c includes the bound of the rounding error
+        double[] nx = new double[8], ny = new double[8], c = new double[8];
+        for (int j = 0; j < 8; j++) {
+            int a = extreme[j], b = extreme[(j + 1) % 8];
+            double dx = points.getX(b) - points.getX(a);
+            double dy = points.getY(b) - points.getY(a);
+            if (dx == 0 && dy == 0) {
+                // A degenerate edge does not restrict anything
+                c[j] = -1;
+            } else {
+                nx[j] = -dy;
+                ny[j] = dx;
+                c[j] = dx * points.getY(a) - dy * points.getX(a) +
+                       (Math.abs(dx) + Math.abs(dy)) * maxAbs * PREFILTER_EPSILON;
+            }
+        }
+        
+        // The single filtering pass
+        int[] result = new int[n];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            double x = points.getX(i), y = points.getY(i);
+            boolean inside = true;
+            for (int j = 0; j < 8; j++) {
+                inside &= (nx[j] * x + ny[j] * y > c[j]);
+            }
+            if (! inside) {
+                result[k++] = i;
+            }
+        }
+        
+        return Arrays.copyOf(result, k);
+    }
+    
+    /**
+     * Copies the points of the list that are not discarded
+     * by the Akl-Toussaint heuristic.
+     */
+    private static ArrayList<Point> prefilterOctagon(ArrayList<Point> points) {
+        
+        int[] candidates = AklToussaint(new PointSet(points));
+        
+        ArrayList<Point> result = new ArrayList<Point>(candidates.length);
+        for (int i : candidates) {
+            result.add(points.get(i));
+        }
+        
+        return result;
+    }
+    
+    /**
+     * The recursive procedure for the "GrahamParallel" algorithm:
+     * builds the convex hull of the points indices[from, to),
+     * forking a task for one of the halves. The tasks reorder
+     * disjoint ranges of the indices.
+     */
+    static class HullTask extends RecursiveTask<int[]> {
+        
+        HullTask(PointSource points, int[] indices, int from, int to, int slabSize) {
+            this.points = points;
+            this.indices = indices;
+            this.from = from;
+            this.to = to;
+            this.slabSize = slabSize;
+        }
+        
+        @Override
+        protected int[] compute() {
+            
+            int mid = (to - from > slabSize ? split() : -1);
+            if (mid == -1) {
+                return slabHull(points, indices, from, to);
+            }
+            
+            HullTask left = new HullTask(points, indices, from, mid, slabSize);
+            left.fork();
+            int[] rightHull = new HullTask(points, indices, mid, to, slabSize).compute();
+            int[] leftHull = left.join();
+            
+            return merge(points, leftHull, rightHull);
+        }
+        
+        /**
+         * Splits the points by a vertical line at the median X coordinate
+         * of a sample, moving the ones to the left of it first.
+         * 
+         * @return The end of the left part, or -1 if all the points
+         *         have the same X coordinate
+         */
+        private int split() {
+            
+            double[] sample = new double[SAMPLE_SIZE];
+            for (int i = 0; i < SAMPLE_SIZE; i++) {
+                sample[i] = points.getX(indices[from + (int)((long)(to - from) * i / SAMPLE_SIZE)]);
+            }
+            Arrays.sort(sample);
+            double median = sample[SAMPLE_SIZE / 2];
+            
+            // The median can be the minimum, then the line goes right after it
+            int mid = partition(median, false);
+            if (mid == from) {
+                mid = partition(median, true);
+            }
+            
+            return (mid == to ? -1 : mid);
+        }
+        
+        /**
+         * Moves the points with x < bound (or x <= bound) first.
+         */
+        private int partition(double bound, boolean inclusive) {
+            int i = from, j = to - 1;
+            while (true) {
+                while (i <= j && isLeft(indices[i], bound, inclusive)) {
+                    i++;
+                }
+                while (i <= j && ! isLeft(indices[j], bound, inclusive)) {
+                    j--;
+                }
+                if (i > j) {
+                    return i;
+                }
+                int t = indices[i];
+                indices[i] = indices[j];
+                indices[j] = t;
+            }
+        }
+        
+        private boolean isLeft(int p, double bound, boolean inclusive) {
+            return (inclusive ? points.getX(p) <= bound : points.getX(p) < bound);
+        }
+        
+        private final PointSource points;
+        private final int[] indices;
+        private final int from, to, slabSize;
+        
+        private static final int SAMPLE_SIZE = 31;
+        private static final long serialVersionUID = 1L;
+    }
+    
     /**
      * Compares two points by their polar angles
      * using the cross product.
@@ -170,9 +1076,65 @@ public class ConvexHull {
         }
     }
     
+    /**
+     * Compares two points of a point source by their polar angles
+     * using the cross product.
+     */
+    static class IndexComparator implements IndexSort.IndexComparator {
+        
+        private PointSource points;
+        private int p0;
+        
+        public IndexComparator(PointSource points, int p0) {
+            this.points = points;
+            this.p0 = p0;
+        }
+
+        // Compare two points by their polar angle with respect to p0;
+        // in case the angle is the same, the (squared) distance to p0 is used
+        @Override
+        public int compare(int p1, int p2) {
+            
+            double crossProduct = crossProduct(points, p0, p1, p2);
+            
+            if (crossProduct > 0) return -1;
+            if (crossProduct < 0) return 1;
+            
+            double d1 = squaredDist(points, p0, p1);
+            double d2 = squaredDist(points, p0, p2);
+            
+            if (d1 < d2) return -1;
+            if (d1 > d2) return 1;
+            
+            return 0;
+        }
+    }
+    
+    /**
+     * Compares two points of a point source by their
+     * X coordinates, and then by their Y coordinates.
+     */
+    static class LexicographicComparator implements IndexSort.IndexComparator {
+        
+        private PointSource points;
+        
+        public LexicographicComparator(PointSource points) {
+            this.points = points;
+        }
+        
+        @Override
+        public int compare(int p1, int p2) {
+            
+            if (points.getX(p1) < points.getX(p2)) return -1;
+            if (points.getX(p1) > points.getX(p2)) return 1;
+            if (points.getY(p1) < points.getY(p2)) return -1;
+            if (points.getY(p1) > points.getY(p2)) return 1;
+            return 0;
+        }
+    }
+    
     private static double crossProduct(Point p0, Point p1, Point p2) {
-        return (p1.getX() - p0.getX()) * (p2.getY() - p0.getY()) -
-                (p2.getX() - p0.getX()) * (p1.getY() - p0.getY());
+        return Predicates.orient2d(p0, p1, p2);
     }
     
     private static boolean isLeftTurn(Point p0, Point p1, Point p2) {
@@ -195,9 +1157,47 @@ public class ConvexHull {
         return result;
     }
     
+    private static double crossProduct(PointSource points, int p0, int p1, int p2) {
+        return Predicates.orient2d(points.getX(p0), points.getY(p0),
+                                   points.getX(p1), points.getY(p1),
+                                   points.getX(p2), points.getY(p2));
+    }
+    
+    private static double squaredDist(PointSource points, int p0, int p1) {
+        double dx = points.getX(p1) - points.getX(p0);
+        double dy = points.getY(p1) - points.getY(p0);
+        return dx * dx + dy * dy;
+    }
+    
+    private static int getLowestPoint(PointSource points, int[] candidates) {
+        int result = candidates[0];
+        
+        for (int i : candidates) {
+            if (points.getY(i) < points.getY(result) ||
+                    points.getY(i) == points.getY(result) &&
+                    points.getX(i) < points.getX(result)) {
+                result = i;
+            }
+        }
+        
+        return result;
+    }
+    
     private static void printPointsList(ArrayList<Point> points) {
         for (Point p : points) {
             System.out.println(p);
         }
     }
+    
+    /** Arrays of at least this length are sorted in parallel **/
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 13;
+    
+    /** Slabs of at most this size are never split **/
+    private static final int MIN_SLAB_SIZE = 1 << 12;
+    
+    /**
+     * The relative bound of the rounding error in the Akl-Toussaint test
+     * (a few hundred times the actual one)
+     */
+    private static final double PREFILTER_EPSILON = 1e-12;
 }
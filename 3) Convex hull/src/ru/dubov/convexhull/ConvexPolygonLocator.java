@@ -0,0 +1,240 @@
+package ru.dubov.convexhull;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import ru.dubov.primitives.Point;
+import ru.dubov.primitives.PointSet;
+import ru.dubov.primitives.Polygon;
+import ru.dubov.primitives.Predicates;
+
+/**
+ * Answers whether points lie inside a convex polygon in O(log(n)).
+ * 
+ * The polygon is split into a fan of triangles from its first vertex;
+ * the triangle that may contain a point is found by the binary search
+ * on the angle (the orientation of the point with respect to
+ * the diagonals of the fan), and then the point is checked against
+ * the only edge of the polygon in that triangle.
+ * 
+ * The points on the boundary are considered to be inside.
+ * 
+ * @author Mikhail Dubov
+ */
+public class ConvexPolygonLocator {
+    
+    /**
+     * Prepares the locator for a convex polygon - in O(n*log(n)).
+     * The vertices may be given in either order; the collinear
+     * and the coinciding ones are dropped (in fact the locator is built
+     * for the convex hull of the vertices, so a polygon
+     * that is not convex is replaced by its hull).
+     * 
+     * @param polygon The polygon
+     */
+    public ConvexPolygonLocator(Polygon polygon) {
+        
+        PointSet vertices = new PointSet(polygon.size());
+        for (int i = 0; i < polygon.size(); i++) {
+            vertices.add(polygon.get(i).getX(), polygon.get(i).getY());
+        }
+        
+        int[] hull = ConvexHull.MonotoneChain(vertices);
+        
+        n = hull.length;
+        xs = new double[n];
+        ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = vertices.getX(hull[i]);
+            ys[i] = vertices.getY(hull[i]);
+        }
+    }
+    
+    /**
+     * Determines whether a point lies inside the polygon
+     * or on its boundary - in O(log(n)).
+     * 
+     * @param p The point
+     * @return true, if the point is inside the polygon, false otherwise
+     */
+    public boolean contains(Point p) {
+        return contains(p.getX(), p.getY());
+    }
+    
+    /**
+     * Determines whether a point lies inside the polygon
+     * or on its boundary - in O(log(n)).
+     * 
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @return true, if the point is inside the polygon, false otherwise
+     */
+    public boolean contains(double x, double y) {
+        
+        if (n == 0) {
+            return false;
+        }
+        if (n == 1) {
+            return x == xs[0] && y == ys[0];
+        }
+        
+        // The point should be between the first and the last edges from v0 ...
+        double first = orient(0, 1, x, y);
+        if (first < 0) {
+            return false;
+        }
+        if (first == 0) {
+            return onSegment(0, 1, x, y);
+        }
+        
+        double last = orient(0, n - 1, x, y);
+        if (last > 0) {
+            return false;
+        }
+        if (last == 0) {
+            return onSegment(0, n - 1, x, y);
+        }
+        
+        // ... then in the triangle (v0, v[lo], v[lo + 1]) of the fan
+        int lo = 1, hi = n - 1;
+        while (hi - lo > 1) {
+            int mid = (lo + hi) >>> 1;
+            if (orient(0, mid, x, y) >= 0) {
+                lo = mid;
+            } else {
+                hi = mid;
+            }
+        }
+        
+        return orient(lo, lo + 1, x, y) >= 0;
+    }
+    
+    /**
+     * Determines for each of the points whether it lies inside the polygon
+     * or on its boundary - in O(m*log(n)).
+     * 
+     * @param x The X coordinates of the points
+     * @param y The Y coordinates of the points
+     * @return For each point, true if it is inside the polygon
+     */
+    public boolean[] contains(double[] x, double[] y) {
+        
+        checkLengths(x, y);
+        
+        boolean[] result = new boolean[x.length];
+        contains(x, y, result, 0, x.length);
+        
+        return result;
+    }
+    
+    /**
+     * Determines for each of the points whether it lies inside the polygon
+     * or on its boundary - in O(m*log(n)),
+     * processing the points in parallel in the common pool.
+     * 
+     * @param x The X coordinates of the points
+     * @param y The Y coordinates of the points
+     * @return For each point, true if it is inside the polygon
+     */
+    public boolean[] containsParallel(double[] x, double[] y) {
+        return containsParallel(x, y, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Determines for each of the points whether it lies inside the polygon
+     * or on its boundary - in O(m*log(n)),
+     * processing the points in parallel in the given pool.
+     * 
+     * @param x The X coordinates of the points
+     * @param y The Y coordinates of the points
+     * @param pool The fork-join pool
+     * @return For each point, true if it is inside the polygon
+     */
+    public boolean[] containsParallel(double[] x, double[] y, ForkJoinPool pool) {
+        
+        checkLengths(x, y);
+        
+        boolean[] result = new boolean[x.length];
+        pool.invoke(new QueryTask(x, y, result, 0, x.length));
+        
+        return result;
+    }
+    
+    /**
+     * Returns the number of vertices of the polygon
+     * (without the collinear and the coinciding ones).
+     * 
+     * @return The number of vertices
+     */
+    public int size() {
+        return n;
+    }
+    
+    private void contains(double[] x, double[] y, boolean[] result, int from, int to) {
+        for (int i = from; i < to; i++) {
+            result[i] = contains(x[i], y[i]);
+        }
+    }
+    
+    private static void checkLengths(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("The coordinate arrays have different lengths: " +
+                                               x.length + " and " + y.length);
+        }
+    }
+    
+    private double orient(int i, int j, double x, double y) {
+        return Predicates.orient2d(xs[i], ys[i], xs[j], ys[j], x, y);
+    }
+    
+    /**
+     * Checks whether a point on the line (v[i], v[j])
+     * lies between the vertices.
+     */
+    private boolean onSegment(int i, int j, double x, double y) {
+        return Math.min(xs[i], xs[j]) <= x && x <= Math.max(xs[i], xs[j]) &&
+               Math.min(ys[i], ys[j]) <= y && y <= Math.max(ys[i], ys[j]);
+    }
+    
+    /**
+     * Answers the queries for the points [from, to),
+     * splitting them in halves until there are few enough.
+     * The tasks write to disjoint ranges of the result.
+     */
+    private class QueryTask extends RecursiveAction {
+        
+        QueryTask(double[] x, double[] y, boolean[] result, int from, int to) {
+            this.x = x;
+            this.y = y;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            
+            if (to - from <= PARALLEL_THRESHOLD) {
+                contains(x, y, result, from, to);
+                return;
+            }
+            
+            int mid = (from + to) >>> 1;
+            invokeAll(new QueryTask(x, y, result, from, mid),
+                      new QueryTask(x, y, result, mid, to));
+        }
+        
+        private final double[] x, y;
+        private final boolean[] result;
+        private final int from, to;
+        
+        private static final long serialVersionUID = 1L;
+    }
+    
+    /** The vertices of the polygon in CCW order **/
+    private final double[] xs, ys;
+    
+    private final int n;
+    
+    /** Ranges of at most this many points are not split **/
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+}
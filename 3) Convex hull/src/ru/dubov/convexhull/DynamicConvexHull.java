@@ -0,0 +1,513 @@
+package ru.dubov.convexhull;
+
+import java.util.Arrays;
+import ru.dubov.primitives.IndexSort;
+import ru.dubov.primitives.PointSource;
+import ru.dubov.primitives.Predicates;
+
+/**
+ * The convex hull of a set of points that supports
+ * insertions and deletions.
+ * 
+ * The points are the leaves of a balanced binary tree, in the order of
+ * (x, y). Each inner node stores the bridges of the upper and of the lower
+ * hull of its subtree: the edges that join the hulls of its children.
+ * So the hull of a node is the hull of its left child up to the bridge
+ * and the hull of its right child after it, and the whole hull is
+ * read from the root in O(h*log(n)) (as in the structure by Overmars
+ * and van Leeuwen, but without the concatenable queues of the hull
+ * parts, which take a lot of memory for millions of points).
+ * 
+ * The tangent from a point to the hull of a subtree is found by going
+ * down the tree in O(log(n)), choosing the child by the bridge. A bridge
+ * is found by a binary search over the hull of the left child, going
+ * down the same way and finding a tangent to the right one at each step,
+ * in O(log^2(n)). An update changes the bridges on the path to the root,
+ * so it takes O(log^3(n)) time. The tree is kept balanced by rebuilding
+ * the subtrees whose children differ too much in size, in O(1) amortized
+ * time per node, since the bridges of the small subtrees are found fast.
+ * 
+ * The hull is strictly convex, so the points that lie on its edges
+ * (and the duplicates) are not in it.
+ * The points are identified by the ids returned on insertion.
+ * The id of a deleted point may be given to another point later.
+ * NB: The structure is not thread-safe.
+ * 
+ * @author Mikhail Dubov
+ */
+public class DynamicConvexHull {
+    
+    /**
+     * Creates an empty set of points.
+     */
+    public DynamicConvexHull() {
+        this(16);
+    }
+    
+    /**
+     * Creates an empty set of points with the given initial capacity.
+     * 
+     * @param capacity The initial capacity
+     */
+    public DynamicConvexHull(int capacity) {
+        
+        capacity = Math.max(2 * capacity, 2);
+        xs = new double[capacity];
+        ys = new double[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        parent = new int[capacity];
+        size = new int[capacity];
+        minLeaf = new int[capacity];
+        bridgeLeft = new int[][] {new int[capacity], new int[capacity]};
+        bridgeRight = new int[][] {new int[capacity], new int[capacity]};
+        freeIds = new int[capacity];
+        leaves = new int[16];
+        chainIds = new int[16];
+        root = -1;
+    }
+    
+    /**
+     * Creates a set of the given points, with the ids 0..n-1
+     * being the indices of the points, in O(n*log(n)).
+     * 
+     * @param points The points
+     */
+    public DynamicConvexHull(PointSource points) {
+        this(points.size());
+        
+        int n = points.size();
+        int[] sorted = new int[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = points.getX(i);
+            ys[i] = points.getY(i);
+            left[i] = right[i] = -1;
+            size[i] = 1;
+            minLeaf[i] = i;
+            sorted[i] = i;
+        }
+        nodeCount = n;
+        pointCount = n;
+        
+        // The sort is stable, so the points are ordered as by compare()
+        IndexSort.sort(sorted, new ConvexHull.LexicographicComparator(points));
+        
+        if (n > 0) {
+            root = build(sorted, 0, n);
+            parent[root] = -1;
+        }
+    }
+    
+    /**
+     * Inserts a point into the set - in O(log^3(n)) amortized time.
+     * 
+     * @param x The X coordinate
+     * @param y The Y coordinate
+     * @return The id of the new point
+     */
+    public int insert(double x, double y) {
+        
+        int p = newNode();
+        xs[p] = x;
+        ys[p] = y;
+        left[p] = right[p] = -1;
+        size[p] = 1;
+        minLeaf[p] = p;
+        pointCount++;
+        
+        if (root == -1) {
+            root = p;
+            parent[p] = -1;
+            return p;
+        }
+        
+        // Find the leaf to split ...
+        int v = root;
+        while (left[v] != -1) {
+            v = (compare(p, minLeaf[right[v]]) < 0 ? left[v] : right[v]);
+        }
+        
+        // ... and put a new inner node in its place
+        int node = newNode();
+        replace(v, node);
+        if (compare(p, v) < 0) {
+            setChildren(node, p, v);
+        } else {
+            setChildren(node, v, p);
+        }
+        
+        update(node);
+        
+        return p;
+    }
+    
+    /**
+     * Deletes a point from the set - in O(log^3(n)) amortized time.
+     * 
+     * @param p The id of the point
+     */
+    public void delete(int p) {
+        
+        if (p < 0 || p >= nodeCount || left[p] != -1 || parent[p] == -2) {
+            throw new IllegalArgumentException("No point with id " + p);
+        }
+        
+        pointCount--;
+        int node = parent[p];
+        freeNode(p);
+        
+        if (node == -1) {
+            root = -1;
+            return;
+        }
+        
+        // The sibling takes the place of the parent
+        int sibling = (left[node] == p ? right[node] : left[node]);
+        replace(node, sibling);
+        int above = parent[node];
+        freeNode(node);
+        
+        if (above != -1) {
+            update(above);
+        }
+    }
+    
+    /**
+     * Returns the convex hull of the points - in O(h*log(n)).
+     * 
+     * @return The ids of the convex hull vertices in CCW order,
+     *         starting with the lowest one (as in the Graham's scan)
+     */
+    public int[] hull() {
+        
+        if (root == -1) {
+            return new int[0];
+        }
+        
+        // The lower hull from left to right,
+        // then the upper one back without its ends
+        chainSize = 0;
+        chain(root, LOWER, -1, -1);
+        int lowerSize = chainSize;
+        chain(root, UPPER, -1, -1);
+        
+        int[] result = new int[chainSize];
+        System.arraycopy(chainIds, 0, result, 0, lowerSize);
+        int k = lowerSize;
+        for (int i = chainSize - 2; i > lowerSize; i--) {
+            result[k++] = chainIds[i];
+        }
+        
+        // Only the duplicates may follow each other
+        // (all the points may coincide)
+        int h = 0;
+        for (int i = 0; i < k; i++) {
+            if (h == 0 || ! coincide(result[i], result[h - 1])) {
+                result[h++] = result[i];
+            }
+        }
+        while (h > 1 && coincide(result[h - 1], result[0])) {
+            h--;
+        }
+        
+        // Start with the lowest vertex
+        int start = 0;
+        for (int i = 1; i < h; i++) {
+            if (ys[result[i]] < ys[result[start]] ||
+                    ys[result[i]] == ys[result[start]] && xs[result[i]] < xs[result[start]]) {
+                start = i;
+            }
+        }
+        
+        int[] rotated = new int[h];
+        System.arraycopy(result, start, rotated, 0, h - start);
+        System.arraycopy(result, 0, rotated, h - start, start);
+        
+        return rotated;
+    }
+    
+    public int size() {
+        return pointCount;
+    }
+    
+    public double getX(int p) {
+        return xs[p];
+    }
+    
+    public double getY(int p) {
+        return ys[p];
+    }
+    
+    /**
+     * Appends the ids of the vertices of a hull chain of the subtree
+     * that lie between the given points (-1 for no bound) to "chainIds".
+     */
+    private void chain(int v, int c, int from, int to) {
+        
+        if (left[v] == -1) {
+            if (chainSize == chainIds.length) {
+                chainIds = Arrays.copyOf(chainIds, 2 * chainSize);
+            }
+            chainIds[chainSize++] = v;
+            return;
+        }
+        
+        int u = bridgeLeft[c][v], w = bridgeRight[c][v];
+        if (from == -1 || compareCoordinates(from, u) <= 0) {
+            chain(left[v], c, from, (to != -1 && compareCoordinates(to, u) < 0 ? to : u));
+        }
+        if (to == -1 || compareCoordinates(w, to) <= 0) {
+            chain(right[v], c, (from != -1 && compareCoordinates(from, w) > 0 ? from : w), to);
+        }
+    }
+    
+    /**
+     * Restores the sizes and the bridges on the path from the node
+     * to the root, rebuilding the highest unbalanced subtree.
+     */
+    private void update(int v) {
+        
+        int unbalanced = -1;
+        for (int a = v; a != -1; a = parent[a]) {
+            size[a] = size[left[a]] + size[right[a]];
+            if (Math.max(size[left[a]], size[right[a]]) > BALANCE * size[a]) {
+                unbalanced = a;
+            }
+        }
+        
+        if (unbalanced != -1) {
+            v = parent[unbalanced];
+            rebuild(unbalanced);
+        }
+        
+        for (int a = v; a != -1; a = parent[a]) {
+            minLeaf[a] = minLeaf[left[a]];
+            findBridge(a, UPPER);
+            findBridge(a, LOWER);
+        }
+    }
+    
+    /**
+     * Rebuilds the subtree as a perfectly balanced one.
+     */
+    private void rebuild(int v) {
+        
+        int n = size[v];
+        if (leaves.length < n) {
+            leaves = new int[Math.max(n, 2 * leaves.length)];
+        }
+        int p = parent[v];
+        int k = collect(v, 0);
+        
+        int node = build(leaves, 0, k);
+        if (p == -1) {
+            root = node;
+            parent[node] = -1;
+        } else if (left[p] == v) {
+            setChildren(p, node, right[p]);
+        } else {
+            setChildren(p, left[p], node);
+        }
+    }
+    
+    /**
+     * Puts the leaves of the subtree into the "leaves" array in order,
+     * freeing the inner nodes.
+     * 
+     * @return The new number of the leaves in the array
+     */
+    private int collect(int v, int k) {
+        if (left[v] == -1) {
+            leaves[k++] = v;
+            return k;
+        }
+        k = collect(left[v], k);
+        k = collect(right[v], k);
+        freeNode(v);
+        return k;
+    }
+    
+    /**
+     * Builds a balanced subtree over the sorted leaves[from, to).
+     * 
+     * @return The root of the subtree
+     */
+    private int build(int[] leaves, int from, int to) {
+        
+        if (to - from == 1) {
+            return leaves[from];
+        }
+        
+        int mid = (from + to) >>> 1;
+        int l = build(leaves, from, mid);
+        int r = build(leaves, mid, to);
+        
+        int v = newNode();
+        setChildren(v, l, r);
+        size[v] = to - from;
+        minLeaf[v] = minLeaf[l];
+        findBridge(v, UPPER);
+        findBridge(v, LOWER);
+        
+        return v;
+    }
+    
+    /**
+     * Finds the bridge of the node for the upper (or the lower) hull.
+     * 
+     * The left end of the bridge is found by the binary search over
+     * the hull of the left child: for its edge (u, w), the bridge is to
+     * the right of u if w is outside the tangent from u to the right hull.
+     * The part of the left hull that is searched is kept between two
+     * vertices, so that the bridge of a node down the tree is an edge
+     * of the left hull if it is inside that part.
+     */
+    private void findBridge(int v, int c) {
+        
+        int r = right[v];
+        int a = left[v];
+        int lo = -1, hi = -1;
+        
+        while (left[a] != -1) {
+            int u = bridgeLeft[c][a], w = bridgeRight[c][a];
+            if (hi != -1 && compareCoordinates(w, hi) > 0) {
+                a = left[a];
+            } else if (lo != -1 && compareCoordinates(u, lo) < 0) {
+                a = right[a];
+            } else if (SIGN[c] * orient(u, tangent(u, r, c), w) > 0) {
+                lo = w;
+                a = right[a];
+            } else {
+                hi = u;
+                a = left[a];
+            }
+        }
+        
+        bridgeLeft[c][v] = a;
+        bridgeRight[c][v] = tangent(a, r, c);
+    }
+    
+    /**
+     * Finds the tangent from the point to the upper (or the lower) hull
+     * of a subtree whose points all follow it, in O(log(n)): the vertex
+     * that the hull goes around the farthest as seen from the point
+     * (the last one of the collinear ones).
+     */
+    private int tangent(int p, int v, int c) {
+        while (left[v] != -1) {
+            v = (SIGN[c] * orient(p, bridgeLeft[c][v], bridgeRight[c][v]) >= 0 ? right[v] : left[v]);
+        }
+        return v;
+    }
+    
+    /**
+     * Compares two points by (x, y), and then by the ids,
+     * which is the order of the leaves.
+     */
+    private int compare(int p, int q) {
+        int result = compareCoordinates(p, q);
+        return (result != 0 ? result : Integer.compare(p, q));
+    }
+    
+    /**
+     * Compares two points by (x, y). The hulls of the subtrees may have
+     * different ones of the coinciding points as their vertices, so the
+     * vertices are compared this way.
+     */
+    private int compareCoordinates(int p, int q) {
+        if (xs[p] != xs[q]) {
+            return (xs[p] < xs[q] ? -1 : 1);
+        }
+        if (ys[p] != ys[q]) {
+            return (ys[p] < ys[q] ? -1 : 1);
+        }
+        return 0;
+    }
+    
+    private boolean coincide(int p, int q) {
+        return xs[p] == xs[q] && ys[p] == ys[q];
+    }
+    
+    private double orient(int p0, int p1, int p2) {
+        return Predicates.orient2d(xs[p0], ys[p0], xs[p1], ys[p1], xs[p2], ys[p2]);
+    }
+    
+    private void setChildren(int v, int l, int r) {
+        left[v] = l;
+        right[v] = r;
+        parent[l] = v;
+        parent[r] = v;
+    }
+    
+    /**
+     * Puts the node w in the place of v in the tree.
+     */
+    private void replace(int v, int w) {
+        int p = parent[v];
+        parent[w] = p;
+        if (p == -1) {
+            root = w;
+        } else if (left[p] == v) {
+            left[p] = w;
+        } else {
+            right[p] = w;
+        }
+    }
+    
+    private int newNode() {
+        if (freeCount > 0) {
+            return freeIds[--freeCount];
+        }
+        if (nodeCount == xs.length) {
+            int capacity = 2 * nodeCount;
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            parent = Arrays.copyOf(parent, capacity);
+            size = Arrays.copyOf(size, capacity);
+            minLeaf = Arrays.copyOf(minLeaf, capacity);
+            for (int c = 0; c < 2; c++) {
+                bridgeLeft[c] = Arrays.copyOf(bridgeLeft[c], capacity);
+                bridgeRight[c] = Arrays.copyOf(bridgeRight[c], capacity);
+            }
+            freeIds = Arrays.copyOf(freeIds, capacity);
+        }
+        return nodeCount++;
+    }
+    
+    private void freeNode(int v) {
+        left[v] = right[v] = -1;
+        parent[v] = -2;
+        freeIds[freeCount++] = v;
+    }
+    
+    /** The nodes: the coordinates of the leaves ... **/
+    private double[] xs, ys;
+    
+    /** ... the tree (-1 for no node, the parent of a free node is -2) ... **/
+    private int[] left, right, parent;
+    private int root;
+    
+    /** ... the number of the leaves in the subtree and the first of them ... **/
+    private int[] size, minLeaf;
+    
+    /** ... and the bridges of the upper and the lower hulls **/
+    private final int[][] bridgeLeft, bridgeRight;
+    
+    private int nodeCount, pointCount;
+    private int[] freeIds;
+    private int freeCount;
+    
+    /** The buffers for the leaves of a rebuilt subtree and for the hull **/
+    private int[] leaves, chainIds;
+    private int chainSize;
+    
+    private static final int UPPER = 0, LOWER = 1;
+    
+    /** The orientation of the hull chains from left to right **/
+    private static final int[] SIGN = {1, -1};
+    
+    /** A subtree is rebuilt when a child has more of its leaves **/
+    private static final double BALANCE = 0.75;
+}
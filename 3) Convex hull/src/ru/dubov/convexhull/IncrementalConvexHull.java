@@ -0,0 +1,220 @@
+package ru.dubov.convexhull;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+import ru.dubov.primitives.Point;
+import ru.dubov.primitives.Polygon;
+import ru.dubov.primitives.Predicates;
+
+/**
+ * The convex hull of a growing set of points.
+ * 
+ * The hull is kept as its lower and upper chains, each in a balanced
+ * search tree (a red-black tree) by the X coordinate. A new point
+ * is checked against the edge of each chain above or below it
+ * in O(log(h)); if it is outside, it is inserted into the chain,
+ * and its neighbours that are no longer convex are removed.
+ * Each point is removed at most once, so an insertion takes
+ * O(log(h)) amortized time, where h is the size of the hull.
+ * 
+ * The chains are strictly convex, so the vertices that lie on the edges
+ * of the hull (and the duplicates) are not kept.
+ * NB: The structure is not thread-safe.
+ * 
+ * @author Mikhail Dubov
+ */
+public class IncrementalConvexHull {
+    
+    /**
+     * Creates an empty convex hull.
+     */
+    public IncrementalConvexHull() {
+        lower = new Chain(1);
+        upper = new Chain(-1);
+    }
+    
+    /**
+     * Adds a point to the set - in O(log(h)) amortized time.
+     * 
+     * @param p The point
+     * @return true, if the hull has changed, false if the point
+     *         lies inside the hull or on its boundary
+     */
+    public boolean add(Point p) {
+        boolean lowerChanged = lower.add(p);
+        boolean upperChanged = upper.add(p);
+        return lowerChanged || upperChanged;
+    }
+    
+    /**
+     * Determines whether a point lies inside the hull
+     * or on its boundary - in O(log(h)).
+     * 
+     * @param p The point
+     * @return true, if the point is inside the hull, false otherwise
+     */
+    public boolean contains(Point p) {
+        return lower.contains(p) && upper.contains(p);
+    }
+    
+    /**
+     * Returns the number of vertices of the hull.
+     * 
+     * @return The number of vertices
+     */
+    public int size() {
+        
+        if (lower.vertices.isEmpty()) {
+            return 0;
+        }
+        
+        int size = lower.vertices.size() + upper.vertices.size();
+        if (lower.vertices.firstEntry().getValue().equals(upper.vertices.firstEntry().getValue())) {
+            size--;
+        }
+        if (lower.vertices.lastEntry().getValue().equals(upper.vertices.lastEntry().getValue())) {
+            size--;
+        }
+        
+        return Math.max(size, 1);
+    }
+    
+    /**
+     * Determines whether no points have been added.
+     * 
+     * @return true, if the hull is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return lower.vertices.isEmpty();
+    }
+    
+    /**
+     * Returns the current hull as a polygon - in O(h).
+     * The polygon is built from the chains and does not change
+     * when more points are added.
+     * 
+     * @return The vertices of the hull in CCW order,
+     *         starting with the lowest one (as in the Graham's scan)
+     */
+    public Polygon toPolygon() {
+        
+        ArrayList<Point> vertices = new ArrayList<Point>(size());
+        if (isEmpty()) {
+            return new Polygon(vertices);
+        }
+        
+        // The lower chain from left to right, then the upper one back,
+        // without the vertices they share
+        vertices.addAll(lower.vertices.values());
+        Point first = vertices.get(0), last = vertices.get(vertices.size() - 1);
+        for (Point p : upper.vertices.descendingMap().values()) {
+            if (! p.equals(first) && ! p.equals(last)) {
+                vertices.add(p);
+            }
+        }
+        
+        // Start with the lowest vertex, which is on the lower chain
+        int start = 0;
+        for (int i = 1; i < lower.vertices.size(); i++) {
+            Point p = vertices.get(i), s = vertices.get(start);
+            if (p.getY() < s.getY() || p.getY() == s.getY() && p.getX() < s.getX()) {
+                start = i;
+            }
+        }
+        
+        ArrayList<Point> rotated = new ArrayList<Point>(vertices.size());
+        rotated.addAll(vertices.subList(start, vertices.size()));
+        rotated.addAll(vertices.subList(0, start));
+        
+        return new Polygon(rotated);
+    }
+    
+    /**
+     * A chain of the hull: the lower one turns left from left
+     * to right (the sign 1), and the upper one turns right (-1).
+     * There is at most one vertex with each X coordinate.
+     */
+    private static class Chain {
+        
+        Chain(int sign) {
+            this.sign = sign;
+            vertices = new TreeMap<Double, Point>();
+        }
+        
+        /**
+         * Checks whether the point is on the inner side of the chain
+         * (above the lower chain or below the upper one) or on it.
+         */
+        boolean contains(Point p) {
+            
+            Map.Entry<Double, Point> left = vertices.floorEntry(key(p));
+            Map.Entry<Double, Point> right = vertices.ceilingEntry(key(p));
+            if (left == null || right == null) {
+                return false;
+            }
+            
+            if (left.getKey().equals(right.getKey())) {
+                return sign * (p.getY() - left.getValue().getY()) >= 0;
+            }
+            return sign * orient(left.getValue(), right.getValue(), p) >= 0;
+        }
+        
+        /**
+         * Inserts the point into the chain if it is outside,
+         * removing the vertices that are no longer convex.
+         * 
+         * @return true, if the chain has changed
+         */
+        boolean add(Point p) {
+            
+            if (contains(p)) {
+                return false;
+            }
+            
+            double x = key(p);
+            vertices.put(x, p);
+            
+            // The vertices to the right ...
+            Map.Entry<Double, Point> r1 = vertices.higherEntry(x);
+            while (r1 != null) {
+                Map.Entry<Double, Point> r2 = vertices.higherEntry(r1.getKey());
+                if (r2 == null || sign * orient(p, r1.getValue(), r2.getValue()) > 0) {
+                    break;
+                }
+                vertices.remove(r1.getKey());
+                r1 = r2;
+            }
+            
+            // ... and to the left
+            Map.Entry<Double, Point> l1 = vertices.lowerEntry(x);
+            while (l1 != null) {
+                Map.Entry<Double, Point> l2 = vertices.lowerEntry(l1.getKey());
+                if (l2 == null || sign * orient(l2.getValue(), l1.getValue(), p) > 0) {
+                    break;
+                }
+                vertices.remove(l1.getKey());
+                l1 = l2;
+            }
+            
+            return true;
+        }
+        
+        /**
+         * The X coordinate as the key (-0.0 and 0.0 are different keys).
+         */
+        private static double key(Point p) {
+            return p.getX() + 0.0;
+        }
+        
+        private static double orient(Point p0, Point p1, Point p2) {
+            return Predicates.orient2d(p0.getX(), p0.getY(), p1.getX(), p1.getY(),
+                                       p2.getX(), p2.getY());
+        }
+        
+        private final int sign;
+        private final TreeMap<Double, Point> vertices;
+    }
+    
+    private final Chain lower, upper;
+}
@@ -0,0 +1,436 @@
+package ru.dubov.convexhull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import ru.dubov.primitives.Point;
+import ru.dubov.primitives.PointSource;
+import ru.dubov.primitives.Polygon;
+import ru.dubov.primitives.Predicates;
+
+/**
+ * Computes the measures of a convex polygon (typically, a convex hull
+ * built by ConvexHull) in O(h) using the rotating calipers:
+ * the diameter and the farthest pair of vertices, the width
+ * and the minimum-area bounding rectangle.
+ * 
+ * The polygon is rotated against a pair (or a few pairs) of parallel
+ * supporting lines; as the lines turn monotonously, the vertices they touch
+ * go around the polygon only once, so that each measure takes linear time.
+ * 
+ * The vertices should be given in CCW order, as the algorithms
+ * in ConvexHull return them. Some of those keep coinciding or collinear
+ * vertices (the Graham's scan keeps the duplicates of the lowest point
+ * and the points on its first edge); such vertices are dropped in O(h)
+ * before the calipers are rotated.
+ * 
+ * @author Mikhail Dubov
+ */
+public class RotatingCalipers {
+    
+    /**
+     * Finds the pair of the farthest vertices of a convex polygon in O(h).
+     * 
+     * @param hull The vertices of the polygon in CCW order
+     * @return The two farthest vertices
+     */
+    public static ArrayList<Point> farthestPair(Polygon hull) {
+        
+        Vertices v = new Vertices(hull);
+        int[] pair = farthestPair(v.x, v.y);
+        
+        ArrayList<Point> result = new ArrayList<Point>();
+        result.add(hull.get(v.ids[pair[0]]));
+        result.add(hull.get(v.ids[pair[1]]));
+        
+        return result;
+    }
+    
+    /**
+     * Finds the pair of the farthest vertices of a convex polygon in O(h).
+     * 
+     * @param points The set of points
+     * @param hull The indices of the polygon vertices in CCW order
+     * @return The indices of the two farthest points
+     */
+    public static int[] farthestPair(PointSource points, int[] hull) {
+        
+        Vertices v = new Vertices(points, hull);
+        int[] pair = farthestPair(v.x, v.y);
+        
+        return new int[] {hull[v.ids[pair[0]]], hull[v.ids[pair[1]]]};
+    }
+    
+    /**
+     * Computes the diameter of a convex polygon
+     * (the distance between its farthest vertices) in O(h).
+     * 
+     * @param hull The vertices of the polygon in CCW order
+     * @return The diameter
+     */
+    public static double diameter(Polygon hull) {
+        ArrayList<Point> pair = farthestPair(hull);
+        return pair.get(0).dist(pair.get(1));
+    }
+    
+    /**
+     * Computes the diameter of a convex polygon
+     * (the distance between its farthest vertices) in O(h).
+     * 
+     * @param points The set of points
+     * @param hull The indices of the polygon vertices in CCW order
+     * @return The diameter
+     */
+    public static double diameter(PointSource points, int[] hull) {
+        int[] pair = farthestPair(points, hull);
+        return Math.hypot(points.getX(pair[1]) - points.getX(pair[0]),
+                          points.getY(pair[1]) - points.getY(pair[0]));
+    }
+    
+    /**
+     * Computes the width of a convex polygon (the minimum distance
+     * between two parallel lines that enclose it) in O(h).
+     * 
+     * @param hull The vertices of the polygon in CCW order
+     * @return The width
+     */
+    public static double width(Polygon hull) {
+        Vertices v = new Vertices(hull);
+        return width(v.x, v.y);
+    }
+    
+    /**
+     * Computes the width of a convex polygon (the minimum distance
+     * between two parallel lines that enclose it) in O(h).
+     * 
+     * @param points The set of points
+     * @param hull The indices of the polygon vertices in CCW order
+     * @return The width
+     */
+    public static double width(PointSource points, int[] hull) {
+        Vertices v = new Vertices(points, hull);
+        return width(v.x, v.y);
+    }
+    
+    /**
+     * Finds the bounding rectangle of a convex polygon
+     * that has the minimum area in O(h).
+     * 
+     * @param hull The vertices of the polygon in CCW order
+     * @return The vertices of the rectangle in CCW order
+     *         (some of them coincide if the polygon is a point or a segment)
+     */
+    public static Polygon minimumAreaRectangle(Polygon hull) {
+        Vertices v = new Vertices(hull);
+        return minimumAreaRectangle(v.x, v.y);
+    }
+    
+    /**
+     * Finds the bounding rectangle of a convex polygon
+     * that has the minimum area in O(h).
+     * 
+     * @param points The set of points
+     * @param hull The indices of the polygon vertices in CCW order
+     * @return The vertices of the rectangle in CCW order
+     *         (some of them coincide if the polygon is a point or a segment)
+     */
+    public static Polygon minimumAreaRectangle(PointSource points, int[] hull) {
+        Vertices v = new Vertices(points, hull);
+        return minimumAreaRectangle(v.x, v.y);
+    }
+    
+    /**
+     * For each edge (i, i + 1), finds the vertex j farthest from its line
+     * (the one that the parallel supporting line touches); the farthest pair
+     * is one of these antipodal pairs. If the edge at j is parallel
+     * to (i, i + 1), both its ends are antipodal to both ends of the edge.
+     */
+    private static int[] farthestPair(double[] x, double[] y) {
+        
+        int n = checkSize(x);
+        int[] best = {0, 0};
+        double bestDist = -1;
+        
+        for (int i = 0, j = next(0, n); i < n; i++) {
+            int i1 = next(i, n);
+            j = farthestFromEdge(x, y, i, i1, j);
+            int j1 = next(j, n);
+            
+            // The pairs (i, j), (i1, j), (i, j1) and (i1, j1)
+            for (int k = 0; k < 4; k++) {
+                int p = ((k & 1) == 0 ? i : i1), q = (k < 2 ? j : j1);
+                double d = squaredDist(x, y, p, q);
+                if (d > bestDist) {
+                    bestDist = d;
+                    best[0] = p;
+                    best[1] = q;
+                }
+            }
+        }
+        
+        return best;
+    }
+    
+    /**
+     * The width is attained with one of the supporting lines
+     * going along an edge of the polygon.
+     */
+    private static double width(double[] x, double[] y) {
+        
+        int n = checkSize(x);
+        if (n < 3) {
+            return 0;
+        }
+        
+        double best = Double.POSITIVE_INFINITY;
+        for (int i = 0, j = 1; i < n; i++) {
+            int i1 = next(i, n);
+            j = farthestFromEdge(x, y, i, i1, j);
+            
+            double height = cross(x, y, i, i1, j) / Math.hypot(x[i1] - x[i], y[i1] - y[i]);
+            best = Math.min(best, height);
+        }
+        
+        return best;
+    }
+    
+    /**
+     * The minimum-area rectangle has a side along an edge of the polygon
+     * (the Freeman-Shapira theorem). For each edge (i, i + 1), four calipers
+     * touch the polygon: the edge itself, the farthest vertex t from it
+     * and the extreme vertices r and l along the edge direction.
+     */
+    private static Polygon minimumAreaRectangle(double[] x, double[] y) {
+        
+        int n = checkSize(x);
+        if (n == 1) {
+            Polygon result = new Polygon();
+            for (int k = 0; k < 4; k++) {
+                result.add(new Point(x[0], y[0]));
+            }
+            return result;
+        }
+        
+        double bestArea = Double.POSITIVE_INFINITY;
+        int bestI = 0, bestR = 0, bestT = 0, bestL = 0;
+        
+        int r = 1, t = 1, l = 1;
+        for (int i = 0; i < n; i++) {
+            int i1 = next(i, n);
+            double ex = x[i1] - x[i], ey = y[i1] - y[i];
+            
+            // The rightmost vertex along the edge, ...
+            while (dot(x, y, r, next(r, n), ex, ey) > 0) {
+                r = next(r, n);
+            }
+            
+            // ... the farthest one from it ...
+            if (i == 0) {
+                t = r;
+            }
+            t = farthestFromEdge(x, y, i, i1, t);
+            
+            // ... and the leftmost one
+            if (i == 0) {
+                l = t;
+            }
+            while (dot(x, y, l, next(l, n), ex, ey) < 0) {
+                l = next(l, n);
+            }
+            
+            double area = dot(x, y, l, r, ex, ey) * cross(x, y, i, i1, t) / (ex * ex + ey * ey);
+            if (area < bestArea) {
+                bestArea = area;
+                bestI = i;
+                bestR = r;
+                bestT = t;
+                bestL = l;
+            }
+        }
+        
+        // The rectangle in the coordinates along the edge and normal to it
+        int i1 = next(bestI, n);
+        double len = Math.hypot(x[i1] - x[bestI], y[i1] - y[bestI]);
+        double ux = (x[i1] - x[bestI]) / len, uy = (y[i1] - y[bestI]) / len;
+        
+        double left = (x[bestL] - x[bestI]) * ux + (y[bestL] - y[bestI]) * uy;
+        double right = (x[bestR] - x[bestI]) * ux + (y[bestR] - y[bestI]) * uy;
+        double height = (x[bestT] - x[bestI]) * (-uy) + (y[bestT] - y[bestI]) * ux;
+        
+        Polygon result = new Polygon();
+        result.add(new Point(x[bestI] + left * ux, y[bestI] + left * uy));
+        result.add(new Point(x[bestI] + right * ux, y[bestI] + right * uy));
+        result.add(new Point(x[bestI] + right * ux - height * uy, y[bestI] + right * uy + height * ux));
+        result.add(new Point(x[bestI] + left * ux - height * uy, y[bestI] + left * uy + height * ux));
+        
+        return result;
+    }
+    
+    /**
+     * Moves the pointer j forward while the vertices get farther
+     * from the line of the edge (i, i1) - the distance is unimodal
+     * along a convex polygon.
+     */
+    private static int farthestFromEdge(double[] x, double[] y, int i, int i1, int j) {
+        
+        int n = x.length;
+        double height = cross(x, y, i, i1, j);
+        for (int k = next(j, n); ; k = next(k, n)) {
+            double h = cross(x, y, i, i1, k);
+            if (h <= height) {
+                return j;
+            }
+            j = k;
+            height = h;
+        }
+    }
+    
+    private static int next(int i, int n) {
+        return (i + 1 == n ? 0 : i + 1);
+    }
+    
+    /**
+     * Twice the signed area of the triangle (i, i1, j).
+     */
+    private static double cross(double[] x, double[] y, int i, int i1, int j) {
+        return (x[i1] - x[i]) * (y[j] - y[i]) - (y[i1] - y[i]) * (x[j] - x[i]);
+    }
+    
+    /**
+     * The dot product of the vector (a, b) and (ex, ey).
+     */
+    private static double dot(double[] x, double[] y, int a, int b, double ex, double ey) {
+        return (x[b] - x[a]) * ex + (y[b] - y[a]) * ey;
+    }
+    
+    private static double squaredDist(double[] x, double[] y, int i, int j) {
+        double dx = x[j] - x[i], dy = y[j] - y[i];
+        return dx * dx + dy * dy;
+    }
+    
+    private static int checkSize(double[] x) {
+        if (x.length == 0) {
+            throw new IllegalArgumentException("The polygon has no vertices");
+        }
+        return x.length;
+    }
+    
+    /**
+     * The vertices of a convex polygon without the coinciding
+     * and the collinear ones, with their positions in the original list.
+     */
+    private static class Vertices {
+        
+        Vertices(Polygon hull) {
+            int n = hull.size();
+            double[] x = new double[n], y = new double[n];
+            for (int i = 0; i < n; i++) {
+                x[i] = hull.get(i).getX();
+                y[i] = hull.get(i).getY();
+            }
+            strip(x, y);
+        }
+        
+        Vertices(PointSource points, int[] hull) {
+            int n = hull.length;
+            double[] x = new double[n], y = new double[n];
+            for (int i = 0; i < n; i++) {
+                x[i] = points.getX(hull[i]);
+                y[i] = points.getY(hull[i]);
+            }
+            strip(x, y);
+        }
+        
+        /**
+         * Drops the vertices that coincide with the previous one
+         * or make no left turn, in a single pass with a stack
+         * (as in the Graham's scan) - in O(h).
+         */
+        private void strip(double[] vx, double[] vy) {
+            
+            int n = vx.length;
+            int[] stack = new int[n];
+            int top = 0;
+            
+            if (n > 0 && collinear(vx, vy)) {
+                
+                // A point or a segment: keep its ends
+                int min = 0, max = 0;
+                for (int i = 1; i < n; i++) {
+                    if (vx[i] < vx[min] || vx[i] == vx[min] && vy[i] < vy[min]) {
+                        min = i;
+                    }
+                    if (vx[i] > vx[max] || vx[i] == vx[max] && vy[i] > vy[max]) {
+                        max = i;
+                    }
+                }
+                stack[top++] = min;
+                if (vx[max] != vx[min] || vy[max] != vy[min]) {
+                    stack[top++] = max;
+                }
+                
+            } else {
+                
+                for (int i = 0; i < n; i++) {
+                    if (top > 0 && vx[i] == vx[stack[top - 1]] && vy[i] == vy[stack[top - 1]]) {
+                        continue;
+                    }
+                    while (top >= 2 && orient(vx, vy, stack[top - 2], stack[top - 1], i) <= 0) {
+                        top--;
+                    }
+                    stack[top++] = i;
+                }
+                
+                // The vertices around the first one
+                int first = 0;
+                while (top - first >= 3 && orient(vx, vy, stack[top - 2], stack[top - 1], stack[first]) <= 0) {
+                    top--;
+                }
+                while (top - first >= 3 && orient(vx, vy, stack[top - 1], stack[first], stack[first + 1]) <= 0) {
+                    first++;
+                }
+                stack = Arrays.copyOfRange(stack, first, top);
+                top -= first;
+            }
+            
+            ids = Arrays.copyOf(stack, top);
+            x = new double[top];
+            y = new double[top];
+            for (int i = 0; i < top; i++) {
+                x[i] = vx[ids[i]];
+                y[i] = vy[ids[i]];
+            }
+        }
+        
+        /**
+         * Checks whether all the vertices lie on a line
+         * through the first one and the farthest one from it.
+         */
+        private static boolean collinear(double[] vx, double[] vy) {
+            
+            int far = 0;
+            for (int i = 1; i < vx.length; i++) {
+                if (squaredDist(vx, vy, 0, i) > squaredDist(vx, vy, 0, far)) {
+                    far = i;
+                }
+            }
+            
+            for (int i = 0; i < vx.length; i++) {
+                if (orient(vx, vy, 0, far, i) != 0) {
+                    return false;
+                }
+            }
+            
+            return true;
+        }
+        
+        private static double orient(double[] vx, double[] vy, int i, int j, int k) {
+            return Predicates.orient2d(vx[i], vy[i], vx[j], vy[j], vx[k], vy[k]);
+        }
+        
+        /** The coordinates of the vertices left **/
+        double[] x, y;
+        
+        /** Their positions in the original list **/
+        int[] ids;
+    }
+}
@@ -0,0 +1,170 @@
+package ru.dubov.convexhull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import ru.dubov.primitives.MappedPointSource;
+import ru.dubov.primitives.Point;
+import ru.dubov.primitives.PointSet;
+import ru.dubov.primitives.PointSource;
+import ru.dubov.primitives.Polygon;
+
+/**
+ * Builds the convex hull of points that come in chunks,
+ * keeping only the hull of the points seen so far.
+ * 
+ * The hull of each chunk is built by the Graham's scan and merged with
+ * the current one (by the monotone chain algorithm over the vertices
+ * of both hulls), so the memory used is O(h + chunk size)
+ * whatever the total number of points is.
+ * 
+ * @author Mikhail Dubov
+ */
+public class StreamingConvexHull {
+    
+    /**
+     * Creates an empty hull.
+     */
+    public StreamingConvexHull() {
+        hullX = new double[0];
+        hullY = new double[0];
+    }
+    
+    /**
+     * Adds a chunk of points - in O(m*log(m) + h*log(h)),
+     * where m is the size of the chunk.
+     * The chunk is not needed after the call.
+     * 
+     * @param chunk The points
+     */
+    public void add(PointSource chunk) {
+        
+        if (chunk.size() == 0) {
+            return;
+        }
+        
+        int[] chunkHull = ConvexHull.Graham(chunk);
+        int h = hullX.length, k = chunkHull.length;
+        
+        // The vertices of both hulls
+        double[] xs = Arrays.copyOf(hullX, h + k);
+        double[] ys = Arrays.copyOf(hullY, h + k);
+        for (int i = 0; i < k; i++) {
+            xs[h + i] = chunk.getX(chunkHull[i]);
+            ys[h + i] = chunk.getY(chunkHull[i]);
+        }
+        
+        int[] hull = ConvexHull.MonotoneChain(new PointSet(xs, ys));
+        
+        hullX = new double[hull.length];
+        hullY = new double[hull.length];
+        for (int i = 0; i < hull.length; i++) {
+            hullX[i] = xs[hull[i]];
+            hullY[i] = ys[hull[i]];
+        }
+        
+        count += chunk.size();
+    }
+    
+    /**
+     * Adds the points from a file in the format of MappedPointSource
+     * (little-endian (x, y) pairs of doubles), reading them in chunks
+     * into a single buffer, so that the file may be larger than
+     * the memory (and have more than 2^31 points).
+     * 
+     * @param file The path to the file
+     * @param chunkSize The number of points in a chunk
+     *                  (from 1 to MAX_CHUNK_SIZE)
+     * @throws IOException if the file cannot be read
+     *         or its size is not a multiple of 16 bytes
+     * @throws IllegalArgumentException if the chunk size is out of range
+     */
+    public void addFile(Path file, int chunkSize) throws IOException {
+        
+        if (chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Chunk size should be from 1 to " +
+                                               MAX_CHUNK_SIZE + ": " + chunkSize);
+        }
+        
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            
+            if (channel.size() % MappedPointSource.POINT_BYTES != 0) {
+                throw new IOException("File size is not a multiple of " +
+                                      MappedPointSource.POINT_BYTES + " bytes: " + file);
+            }
+            
+            ByteBuffer buffer = ByteBuffer.allocateDirect(chunkSize * MappedPointSource.POINT_BYTES)
+                                          .order(ByteOrder.LITTLE_ENDIAN);
+            double[] xs = new double[chunkSize], ys = new double[chunkSize];
+            
+            for (long left = channel.size(); left > 0; left -= buffer.limit()) {
+                
+                buffer.clear();
+                buffer.limit((int)Math.min(buffer.capacity(), left));
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) {
+                        throw new EOFException("Unexpected end of file: " + file);
+                    }
+                }
+                buffer.flip();
+                
+                int m = buffer.limit() / MappedPointSource.POINT_BYTES;
+                for (int i = 0; i < m; i++) {
+                    xs[i] = buffer.getDouble();
+                    ys[i] = buffer.getDouble();
+                }
+                
+                add(new PointSet(m == chunkSize ? xs : Arrays.copyOf(xs, m),
+                                 m == chunkSize ? ys : Arrays.copyOf(ys, m)));
+            }
+        }
+    }
+    
+    /**
+     * Returns the current hull as a polygon.
+     * 
+     * @return The vertices of the hull in CCW order,
+     *         starting with the lowest one (as in the Graham's scan)
+     */
+    public Polygon toPolygon() {
+        
+        ArrayList<Point> vertices = new ArrayList<Point>(hullX.length);
+        for (int i = 0; i < hullX.length; i++) {
+            vertices.add(new Point(hullX[i], hullY[i]));
+        }
+        
+        return new Polygon(vertices);
+    }
+    
+    /**
+     * Returns the number of vertices of the current hull.
+     * 
+     * @return The number of vertices
+     */
+    public int size() {
+        return hullX.length;
+    }
+    
+    /**
+     * Returns the number of points added.
+     * 
+     * @return The number of points
+     */
+    public long count() {
+        return count;
+    }
+    
+    /** The vertices of the current hull **/
+    private double[] hullX, hullY;
+    
+    private long count;
+    
+    /** The largest chunk whose size in bytes fits into a buffer **/
+    public static final int MAX_CHUNK_SIZE = Integer.MAX_VALUE / MappedPointSource.POINT_BYTES;
+}
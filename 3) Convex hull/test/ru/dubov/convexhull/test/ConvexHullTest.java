@@ -1,12 +1,18 @@
 package ru.dubov.convexhull.test;
 
 import ru.dubov.convexhull.ConvexHull;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import junit.framework.TestCase;
 
 import ru.dubov.convexhull.ConvexHull;
+import ru.dubov.primitives.MappedPointSource;
 import ru.dubov.primitives.Point;
+import ru.dubov.primitives.PointSet;
 import ru.dubov.primitives.Polygon;
 
 public class ConvexHullTest extends TestCase {
@@ -67,6 +73,266 @@ public class ConvexHullTest extends TestCase {
         }
     }
     
+    public void testConvexHull_PointSet() {
+        
+        Random rand = new Random();
+        
+        for (int n = 3; n <= 100; n++) {
+            ArrayList<Point> points = new ArrayList<Point>();
+            
+            for(int i = 0; i < n; i++) {
+                points.add(new Point(rand.nextDouble()*100,
+                                     rand.nextDouble()*100));
+            }
+            
+            Polygon CH_Graham = ConvexHull.Graham(points);
+            int[] CH_PointSet = ConvexHull.Graham(new PointSet(points));
+            
+            assertEquals(CH_Graham.size(), CH_PointSet.length);
+            for (int i = 0; i < CH_PointSet.length; i++) {
+                assertEquals(CH_Graham.get(i), points.get(CH_PointSet[i]));
+            }
+        }
+        
+        // Less than three points, and coinciding points
+        PointSet points = new PointSet();
+        assertEquals(0, ConvexHull.Graham(points).length);
+        points.add(5, 1);
+        assertTrue(Arrays.equals(new int[] {0}, ConvexHull.Graham(points)));
+        points.add(1, 3);
+        assertTrue(Arrays.equals(new int[] {0, 1}, ConvexHull.Graham(points)));
+        
+        PointSet samePoint = new PointSet();
+        for (int n = 1; n <= 4; n++) {
+            samePoint.add(2, 2);
+            assertEquals(1, ConvexHull.Graham(samePoint).length);
+        }
+        samePoint.add(3, 0);
+        int[] hull = ConvexHull.Graham(samePoint);
+        assertEquals(2, hull.length);
+        assertEquals(4, hull[0]);
+        assertEquals(samePoint.get(0), samePoint.get(hull[1]));
+    }
+    
+    public void testConvexHull_MappedPointSource() throws IOException {
+        
+        Random rand = new Random();
+        
+        PointSet points = new PointSet();
+        for(int i = 0; i < 10000; i++) {
+            points.add(rand.nextDouble()*100, rand.nextDouble()*100);
+        }
+        
+        File file = File.createTempFile("points", ".bin");
+        file.deleteOnExit();
+        MappedPointSource.write(file.toPath(), points);
+        
+        assertTrue(Arrays.equals(ConvexHull.Graham(points),
+                                 ConvexHull.Graham(new MappedPointSource(file.toPath()))));
+    }
+    
+    public void testConvexHull_MonotoneChain() {
+        
+        Random rand = new Random();
+        
+        for (int n : new int[] {3, 4, 5, 10, 100, 1000, 100000}) {
+            PointSet points = new PointSet();
+            for(int i = 0; i < n; i++) {
+                points.add(rand.nextDouble()*100, rand.nextDouble()*100);
+            }
+            
+            assertTrue(Arrays.equals(ConvexHull.Graham(points),
+                                     ConvexHull.MonotoneChain(points)));
+        }
+        
+        // Integer coordinates give many equal X coordinates
+        // and collinear points (but no duplicates)
+        for (int n = 3; n <= 200; n++) {
+            boolean[][] used = new boolean[20][20];
+            ArrayList<Point> points = new ArrayList<Point>();
+            while (points.size() < n) {
+                int x = rand.nextInt(20), y = rand.nextInt(20);
+                if (! used[x][y]) {
+                    used[x][y] = true;
+                    points.add(new Point(x - 10, y - 10));
+                }
+            }
+            
+            // NB: Both the Graham's scan and the Jarvis' march may keep
+            //     the points on the last edge, so the hull is checked directly
+            checkStrictlyConvexHull(points, ConvexHull.MonotoneChain(points));
+        }
+        
+        // Two points: the lowest one first, and a single vertex if they coincide
+        PointSet pair = new PointSet();
+        pair.add(5, 1);
+        pair.add(1, 3);
+        assertTrue(Arrays.equals(new int[] {0, 1}, ConvexHull.MonotoneChain(pair)));
+        
+        PointSet samePoint = new PointSet();
+        samePoint.add(2, 2);
+        samePoint.add(2, 2);
+        assertEquals(1, ConvexHull.MonotoneChain(samePoint).length);
+    }
+    
+    public void testConvexHull_AklToussaint() {
+        
+        Random rand = new Random();
+        
+        for (int n : new int[] {1, 3, 10, 1000, 100000}) {
+            
+            // Uniform in a square, and on a circle (where almost
+            // all the points are the vertices of the convex hull)
+            PointSet square = new PointSet(), circle = new PointSet();
+            for(int i = 0; i < n; i++) {
+                square.add(rand.nextDouble()*100, rand.nextDouble()*100);
+                double angle = 2 * Math.PI * rand.nextDouble();
+                circle.add(1e6 + Math.cos(angle), 1e6 + Math.sin(angle));
+            }
+            
+            for (PointSet points : new PointSet[] {square, circle}) {
+                int[] candidates = ConvexHull.AklToussaint(points);
+                
+                boolean[] kept = new boolean[n];
+                for (int i : candidates) {
+                    kept[i] = true;
+                }
+                if (n >= 3) {
+                    for (int i : ConvexHull.MonotoneChain(points)) {
+                        assertTrue(kept[i]);
+                    }
+                }
+            }
+            
+            if (n == 100000) {
+                assertTrue(ConvexHull.AklToussaint(square).length < n / 10);
+            }
+        }
+        
+        // All the points coincide, so none of them may be discarded
+        PointSet single = new PointSet();
+        for (int i = 0; i < 100; i++) {
+            single.add(1, 1);
+        }
+        assertEquals(100, ConvexHull.AklToussaint(single).length);
+    }
+    
+    public void testConvexHull_Chan() {
+        
+        Random rand = new Random();
+        
+        for (int n = 3; n <= 3000; n += 1 + n / 8) {
+            
+            // Uniform in a square, on a circle (h close to n),
+            // and with integer coordinates (many collinear points
+            // and duplicates)
+            PointSet square = new PointSet(), circle = new PointSet(), grid = new PointSet();
+            for(int i = 0; i < n; i++) {
+                square.add(rand.nextDouble()*100, rand.nextDouble()*100);
+                double angle = 2 * Math.PI * rand.nextDouble();
+                circle.add(Math.cos(angle), Math.sin(angle));
+                grid.add(rand.nextInt(10), rand.nextInt(10));
+            }
+            
+            for (PointSet points : new PointSet[] {square, circle, grid}) {
+                int[] CH_MonotoneChain = ConvexHull.MonotoneChain(points);
+                int[] CH_Chan = ConvexHull.Chan(points);
+                
+                assertEquals(CH_MonotoneChain.length, CH_Chan.length);
+                for (int i = 0; i < CH_Chan.length; i++) {
+                    assertEquals(points.get(CH_MonotoneChain[i]), points.get(CH_Chan[i]));
+                }
+            }
+        }
+        
+        // All the points collinear or coinciding
+        PointSet points = new PointSet();
+        for (int i = 0; i < 100; i++) {
+            points.add(i % 7, 2 * (i % 7));
+        }
+        assertEquals(2, ConvexHull.Chan(points).length);
+        
+        // A large set with a small hull
+        points = new PointSet();
+        for(int i = 0; i < 1000000; i++) {
+            points.add(rand.nextDouble(), rand.nextDouble());
+        }
+        assertTrue(Arrays.equals(ConvexHull.MonotoneChain(points), ConvexHull.Chan(points)));
+    }
+    
+    public void testConvexHull_GrahamParallel() {
+        
+        Random rand = new Random();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        
+        for (int n : new int[] {3, 10, 1000, 5000, 20000, 100000}) {
+            
+            // Uniform in a square, on a circle (h close to n),
+            // and with integer coordinates (many collinear points
+            // and duplicates, also across the slabs)
+            PointSet square = new PointSet(), circle = new PointSet(), grid = new PointSet();
+            for(int i = 0; i < n; i++) {
+                square.add(rand.nextDouble()*100, rand.nextDouble()*100);
+                double angle = 2 * Math.PI * rand.nextDouble();
+                circle.add(Math.cos(angle), Math.sin(angle));
+                grid.add(rand.nextInt(50), rand.nextInt(10));
+            }
+            
+            for (PointSet points : new PointSet[] {square, circle, grid}) {
+                int[] CH_MonotoneChain = ConvexHull.MonotoneChain(points);
+                
+                for (int[] CH_Parallel : new int[][] {ConvexHull.GrahamParallel(points),
+                                                      ConvexHull.GrahamParallel(points, pool)}) {
+                    assertEquals(CH_MonotoneChain.length, CH_Parallel.length);
+                    for (int i = 0; i < CH_Parallel.length; i++) {
+                        assertEquals(points.get(CH_MonotoneChain[i]), points.get(CH_Parallel[i]));
+                    }
+                }
+            }
+        }
+        
+        // All the points collinear, on a vertical line or coinciding
+        PointSet collinear = new PointSet(), vertical = new PointSet(), single = new PointSet();
+        for (int i = 0; i < 50000; i++) {
+            collinear.add(i % 777, 2 * (i % 777));
+            vertical.add(1, rand.nextInt(100));
+            single.add(1, 1);
+        }
+        assertEquals(2, ConvexHull.GrahamParallel(collinear, pool).length);
+        assertEquals(2, ConvexHull.GrahamParallel(vertical, pool).length);
+        assertEquals(1, ConvexHull.GrahamParallel(single, pool).length);
+        
+        pool.shutdown();
+    }
+    
+    private void checkStrictlyConvexHull(ArrayList<Point> points, Polygon hull) {
+        
+        // Strictly convex and counterclockwise (unless all the points
+        // are collinear, and the hull is a segment) ...
+        int h = hull.size();
+        for (int i = 0; i < h && h >= 3; i++) {
+            assertTrue(cross(hull.get(i), hull.get((i + 1) % h), hull.get((i + 2) % h)) > 0);
+        }
+        
+        // ... containing all the points ...
+        for (Point p : points) {
+            for (int i = 0; i < h; i++) {
+                assertTrue(cross(hull.get(i), hull.get((i + 1) % h), p) >= 0);
+            }
+        }
+        
+        // ... and starting with the lowest point
+        for (Point p : points) {
+            assertTrue(p.getY() > hull.get(0).getY() ||
+                       p.getY() == hull.get(0).getY() && p.getX() >= hull.get(0).getX());
+        }
+    }
+    
+    private static double cross(Point p0, Point p1, Point p2) {
+        return (p1.getX() - p0.getX()) * (p2.getY() - p0.getY()) -
+               (p2.getX() - p0.getX()) * (p1.getY() - p0.getY());
+    }
+    
     private static void printPointsList(ArrayList<Point> points) {
         for (Point p : points) {
             System.out.println(p);
@@ -0,0 +1,107 @@
+package ru.dubov.convexhull.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import junit.framework.TestCase;
+import ru.dubov.convexhull.ConvexHull;
+import ru.dubov.convexhull.ConvexPolygonLocator;
+import ru.dubov.primitives.Point;
+import ru.dubov.primitives.Polygon;
+import ru.dubov.primitives.Triangle;
+
+
+public class ConvexPolygonLocatorTest extends TestCase {
+    
+    public void testConvexPolygonLocator_Randomised() {
+        Random rand = new Random();
+        
+        for (int kind = HullTestData.UNIFORM; kind <= HullTestData.GRID; kind++) {
+            for (int test = 0; test < 100; test++) {
+                
+                ArrayList<Point> points = new ArrayList<Point>();
+                int size = 1 + rand.nextInt(test < 50 ? 5 : 200);
+                for (int i = 0; i < size; i++) {
+                    points.add(HullTestData.randomPoint(rand, kind));
+                }
+                Polygon hull = ConvexHull.MonotoneChain(points);
+                
+                // The clockwise order too
+                ArrayList<Point> vertices = new ArrayList<Point>();
+                for (int i = 0; i < hull.size(); i++) {
+                    vertices.add(hull.get(i));
+                }
+                if (test % 2 == 1) {
+                    Collections.reverse(vertices);
+                }
+                ConvexPolygonLocator locator = new ConvexPolygonLocator(new Polygon(vertices));
+                assertEquals(hull.size(), locator.size());
+                
+                int queryKind = (kind == HullTestData.CIRCLE ? HullTestData.UNIFORM : kind);
+                for (int i = 0; i < 200; i++) {
+                    Point p = (i < size ? points.get(i) : HullTestData.randomPoint(rand, queryKind));
+                    assertEquals(HullTestData.naiveContains(hull, p), locator.contains(p));
+                }
+            }
+        }
+    }
+    
+    public void testConvexPolygonLocator_Triangle() {
+        Random rand = new Random();
+        
+        for (int test = 0; test < 100; test++) {
+            Point a = HullTestData.randomPoint(rand, HullTestData.UNIFORM);
+            Point b = HullTestData.randomPoint(rand, HullTestData.UNIFORM);
+            Point c = HullTestData.randomPoint(rand, HullTestData.UNIFORM);
+            Triangle t = new Triangle(a, b, c);
+            
+            Polygon polygon = new Polygon();
+            polygon.add(a);
+            polygon.add(b);
+            polygon.add(c);
+            ConvexPolygonLocator locator = new ConvexPolygonLocator(polygon);
+            
+            for (int i = 0; i < 100; i++) {
+                Point p = HullTestData.randomPoint(rand, HullTestData.UNIFORM);
+                assertEquals(t.pointInside(p), locator.contains(p));
+            }
+        }
+    }
+    
+    public void testConvexPolygonLocator_Batch() {
+        Random rand = new Random();
+        
+        ArrayList<Point> points = new ArrayList<Point>();
+        for (int i = 0; i < 1000; i++) {
+            points.add(HullTestData.randomPoint(rand, HullTestData.CIRCLE));
+        }
+        ConvexPolygonLocator locator = new ConvexPolygonLocator(ConvexHull.Graham(points));
+        
+        int m = 100000;
+        double[] xs = new double[m], ys = new double[m];
+        for (int i = 0; i < m; i++) {
+            xs[i] = rand.nextDouble()*100;
+            ys[i] = rand.nextDouble()*100;
+        }
+        
+        boolean[] result = locator.contains(xs, ys);
+        for (int i = 0; i < m; i++) {
+            assertEquals(locator.contains(xs[i], ys[i]), result[i]);
+        }
+        assertTrue(Arrays.equals(result, locator.containsParallel(xs, ys)));
+        assertTrue(Arrays.equals(result, locator.containsParallel(xs, ys, new ForkJoinPool(4))));
+        
+        try {
+            locator.contains(xs, new double[m - 1]);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+        
+        // The empty polygon contains nothing
+        locator = new ConvexPolygonLocator(new Polygon());
+        assertEquals(0, locator.size());
+        assertFalse(locator.contains(0, 0));
+    }
+}
@@ -0,0 +1,95 @@
+package ru.dubov.convexhull.test;
+
+import java.util.ArrayList;
+import java.util.Random;
+import junit.framework.TestCase;
+import ru.dubov.convexhull.ConvexHull;
+import ru.dubov.convexhull.DynamicConvexHull;
+import ru.dubov.primitives.Point;
+import ru.dubov.primitives.PointSet;
+
+
+public class DynamicConvexHullTest extends TestCase {
+    
+    private void checkHull(DynamicConvexHull set, ArrayList<Integer> ids) {
+        
+        PointSet points = new PointSet();
+        for (int p : ids) {
+            points.add(set.getX(p), set.getY(p));
+        }
+        
+        int[] CH_MonotoneChain = ConvexHull.MonotoneChain(points);
+        int[] CH_Dynamic = set.hull();
+        
+        assertEquals(CH_MonotoneChain.length, CH_Dynamic.length);
+        for (int i = 0; i < CH_Dynamic.length; i++) {
+            assertTrue(ids.contains(CH_Dynamic[i]));
+            assertEquals(points.getX(CH_MonotoneChain[i]), set.getX(CH_Dynamic[i]));
+            assertEquals(points.getY(CH_MonotoneChain[i]), set.getY(CH_Dynamic[i]));
+        }
+    }
+    
+    public void testDynamicConvexHull_Randomised() {
+        Random rand = new Random();
+        
+        for (int test = 0; test < 50; test++) {
+            DynamicConvexHull set = new DynamicConvexHull();
+            ArrayList<Integer> ids = new ArrayList<Integer>();
+            
+            // Integer coordinates give many collinear points and duplicates
+            int range = 2 + rand.nextInt(30);
+            int maxSize = 1 + rand.nextInt(300);
+            
+            for (int step = 0; step < 1000; step++) {
+                if (ids.size() < maxSize && (ids.isEmpty() || rand.nextInt(3) > 0)) {
+                    ids.add(set.insert(rand.nextInt(range), rand.nextInt(range)));
+                } else {
+                    set.delete(ids.remove(rand.nextInt(ids.size())));
+                }
+                
+                assertEquals(ids.size(), set.size());
+                checkHull(set, ids);
+            }
+        }
+    }
+    
+    public void testDynamicConvexHull_PointSet() {
+        Random rand = new Random();
+        
+        for (int kind : new int[] {HullTestData.UNIFORM, HullTestData.CIRCLE}) {
+            PointSet points = new PointSet();
+            for (int i = 0; i < 20000; i++) {
+                Point p = HullTestData.randomPoint(rand, kind);
+                points.add(p.getX(), p.getY());
+            }
+            
+            DynamicConvexHull set = new DynamicConvexHull(points);
+            ArrayList<Integer> ids = new ArrayList<Integer>();
+            for (int i = 0; i < points.size(); i++) {
+                ids.add(i);
+            }
+            checkHull(set, ids);
+            
+            // Moving points
+            for (int step = 0; step < 20000; step++) {
+                int i = rand.nextInt(ids.size());
+                int p = ids.get(i);
+                double x = set.getX(p) + rand.nextGaussian() * 1e-2;
+                double y = set.getY(p) + rand.nextGaussian() * 1e-2;
+                set.delete(p);
+                ids.set(i, set.insert(x, y));
+                
+                if (step % 1000 == 0) {
+                    checkHull(set, ids);
+                }
+            }
+            checkHull(set, ids);
+            
+            // Deleting all of them
+            while (! ids.isEmpty()) {
+                set.delete(ids.remove(ids.size() - 1));
+            }
+            assertEquals(0, set.hull().length);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package ru.dubov.convexhull.test;
+
+import java.util.Random;
+import ru.dubov.primitives.Point;
+import ru.dubov.primitives.PointSource;
+import ru.dubov.primitives.Polygon;
+
+/**
+ * Generates the random points for the convex hull tests
+ * and checks the results naively.
+ * 
+ * @author Mikhail Dubov
+ */
+class HullTestData {
+    
+    /**
+     * Generates a random point.
+     * 
+     * @param rand The random generator
+     * @param kind UNIFORM, CIRCLE, GRID or LINE
+     * @return The point
+     */
+    static Point randomPoint(Random rand, int kind) {
+        switch (kind) {
+            case UNIFORM:
+                return new Point(rand.nextDouble()*100, rand.nextDouble()*100);
+            case CIRCLE:
+                double angle = 2 * Math.PI * rand.nextDouble();
+                return new Point(50 + 40 * Math.cos(angle), 50 + 40 * Math.sin(angle));
+            case GRID:
+                return new Point(rand.nextInt(20), rand.nextInt(20));
+            default:
+                double x = rand.nextInt(100);
+                return new Point(x, 2 * x + 1);
+        }
+    }
+    
+    /**
+     * Determines whether a point lies inside a convex hull
+     * or on its boundary, checking every edge.
+     * 
+     * @param hull The convex hull in CCW order (may be a segment or a point)
+     * @param p The point
+     * @return true, if the point lies inside the hull or on its boundary
+     */
+    static boolean naiveContains(Polygon hull, Point p) {
+        
+        int h = hull.size();
+        if (h == 1) {
+            return p.equals(hull.get(0));
+        }
+        
+        for (int i = 0; i < h; i++) {
+            Point a = hull.get(i), b = hull.get((i + 1) % h);
+            double cross = (b.getX() - a.getX()) * (p.getY() - a.getY()) -
+                           (p.getX() - a.getX()) * (b.getY() - a.getY());
+            if (cross < 0) {
+                return false;
+            }
+        }
+        
+        // A segment: the point should be between its ends
+        if (h == 2) {
+            Point a = hull.get(0), b = hull.get(1);
+            return Math.min(a.getX(), b.getX()) <= p.getX() && p.getX() <= Math.max(a.getX(), b.getX()) &&
+                   Math.min(a.getY(), b.getY()) <= p.getY() && p.getY() <= Math.max(a.getY(), b.getY());
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Determines whether a point lies inside a convex hull
+     * given by the point indices, or on its boundary.
+     */
+    static boolean naiveContains(PointSource points, int[] hull, Point p) {
+        
+        Polygon polygon = new Polygon();
+        for (int i : hull) {
+            polygon.add(new Point(points.getX(i), points.getY(i)));
+        }
+        
+        return naiveContains(polygon, p);
+    }
+    
+    /** Uniform in the square [0, 100) x [0, 100) **/
+    static final int UNIFORM = 0;
+    
+    /** On a circle inside the square (every point is on the hull) **/
+    static final int CIRCLE = 1;
+    
+    /**
+     * Integer coordinates in [0, 20): many collinear points,
+     * duplicates and points on the boundary
+     */
+    static final int GRID = 2;
+    
+    /** Integer points exactly on the line y = 2x + 1 **/
+    static final int LINE = 3;
+}
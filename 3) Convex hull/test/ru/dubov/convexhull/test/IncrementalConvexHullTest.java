@@ -0,0 +1,80 @@
+package ru.dubov.convexhull.test;
+
+import java.util.Random;
+import junit.framework.TestCase;
+import ru.dubov.convexhull.ConvexHull;
+import ru.dubov.convexhull.IncrementalConvexHull;
+import ru.dubov.primitives.Point;
+import ru.dubov.primitives.PointSet;
+import ru.dubov.primitives.Polygon;
+
+
+public class IncrementalConvexHullTest extends TestCase {
+    
+    public void testIncrementalConvexHull_Randomised() {
+        Random rand = new Random();
+        
+        for (int kind = HullTestData.UNIFORM; kind <= HullTestData.GRID; kind++) {
+            for (int test = 0; test < 10; test++) {
+                
+                IncrementalConvexHull hull = new IncrementalConvexHull();
+                PointSet points = new PointSet();
+                assertTrue(hull.isEmpty());
+                assertEquals(0, hull.toPolygon().size());
+                
+                int batch = 1 + rand.nextInt(20);
+                for (int step = 0; step < 1000; step++) {
+                    Point p = HullTestData.randomPoint(rand, kind);
+                    boolean inside = hull.contains(p);
+                    assertEquals(! inside, hull.add(p));
+                    assertTrue(hull.contains(p));
+                    points.add(p.getX(), p.getY());
+                    
+                    if (step % batch == 0) {
+                        int[] CH_MonotoneChain = ConvexHull.MonotoneChain(points);
+                        Polygon CH_Incremental = hull.toPolygon();
+                        
+                        assertEquals(CH_MonotoneChain.length, hull.size());
+                        assertEquals(CH_MonotoneChain.length, CH_Incremental.size());
+                        for (int i = 0; i < CH_Incremental.size(); i++) {
+                            assertEquals(points.get(CH_MonotoneChain[i]), CH_Incremental.get(i));
+                        }
+                        
+                        int queryKind = (kind == HullTestData.CIRCLE ? HullTestData.UNIFORM : kind);
+                        for (int i = 0; i < 20; i++) {
+                            Point q = HullTestData.randomPoint(rand, queryKind);
+                            assertEquals(HullTestData.naiveContains(points, CH_MonotoneChain, q), hull.contains(q));
+                        }
+                    }
+                }
+            }
+        }
+    }
+    
+    public void testIncrementalConvexHull_Degenerate() {
+        
+        // A single point and a vertical segment
+        IncrementalConvexHull hull = new IncrementalConvexHull();
+        assertTrue(hull.add(new Point(1, 1)));
+        assertFalse(hull.add(new Point(1, 1)));
+        assertEquals(1, hull.size());
+        assertEquals(1, hull.toPolygon().size());
+        
+        assertTrue(hull.add(new Point(1, 3)));
+        assertFalse(hull.add(new Point(1, 2)));
+        assertEquals(2, hull.size());
+        assertTrue(hull.contains(new Point(1, 2.5)));
+        assertFalse(hull.contains(new Point(1, 3.5)));
+        assertFalse(hull.contains(new Point(1.5, 2)));
+        
+        // -0.0 and 0.0 are the same X coordinate
+        hull = new IncrementalConvexHull();
+        hull.add(new Point(-0.0, 0));
+        hull.add(new Point(0.0, 1));
+        hull.add(new Point(2, 0));
+        assertEquals(3, hull.size());
+        assertEquals(new Point(0, 0), hull.toPolygon().get(0));
+        assertTrue(hull.contains(new Point(0, 0.5)));
+        assertFalse(hull.contains(new Point(-1e-300, 0.5)));
+    }
+}
@@ -0,0 +1,187 @@
+package ru.dubov.convexhull.test;
+
+import java.util.ArrayList;
+import java.util.Random;
+import junit.framework.TestCase;
+import ru.dubov.convexhull.ConvexHull;
+import ru.dubov.convexhull.RotatingCalipers;
+import ru.dubov.primitives.Point;
+import ru.dubov.primitives.PointSet;
+import ru.dubov.primitives.Polygon;
+
+
+public class RotatingCalipersTest extends TestCase {
+    
+    private static final double EPS = 1e-9;
+    
+    private double naiveDiameter(Polygon hull) {
+        double best = 0;
+        for (int i = 0; i < hull.size(); i++) {
+            for (int j = i + 1; j < hull.size(); j++) {
+                best = Math.max(best, hull.get(i).dist(hull.get(j)));
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Returns {width, area of the minimum rectangle}, trying each edge.
+     */
+    private double[] naiveWidthAndArea(Polygon hull) {
+        
+        int h = hull.size();
+        if (h < 3) {
+            return new double[] {0, 0};
+        }
+        
+        double width = Double.POSITIVE_INFINITY, area = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < h; i++) {
+            Point a = hull.get(i), b = hull.get((i + 1) % h);
+            double len = a.dist(b);
+            double ux = (b.getX() - a.getX()) / len, uy = (b.getY() - a.getY()) / len;
+            
+            double min = 0, max = 0, height = 0;
+            for (int j = 0; j < h; j++) {
+                double dx = hull.get(j).getX() - a.getX(), dy = hull.get(j).getY() - a.getY();
+                min = Math.min(min, dx * ux + dy * uy);
+                max = Math.max(max, dx * ux + dy * uy);
+                height = Math.max(height, dy * ux - dx * uy);
+            }
+            
+            width = Math.min(width, height);
+            area = Math.min(area, (max - min) * height);
+        }
+        
+        return new double[] {width, area};
+    }
+    
+    private void checkRectangle(Polygon hull, Polygon rect, double area) {
+        
+        assertEquals(4, rect.size());
+        Point a = rect.get(0), b = rect.get(1), c = rect.get(2), d = rect.get(3);
+        
+        // The sides are perpendicular
+        double abx = b.getX() - a.getX(), aby = b.getY() - a.getY();
+        double adx = d.getX() - a.getX(), ady = d.getY() - a.getY();
+        assertEquals(0, abx * adx + aby * ady, EPS * (1 + area));
+        assertEquals(b.getX() + adx, c.getX(), EPS * 100);
+        assertEquals(b.getY() + ady, c.getY(), EPS * 100);
+        assertEquals(area, a.dist(b) * a.dist(d), EPS * (1 + area));
+        
+        // All the vertices are inside (CCW order)
+        for (int i = 0; i < hull.size(); i++) {
+            Point p = hull.get(i);
+            for (int k = 0; k < 4; k++) {
+                Point q1 = rect.get(k), q2 = rect.get((k + 1) % 4);
+                double cross = (q2.getX() - q1.getX()) * (p.getY() - q1.getY()) -
+                               (p.getX() - q1.getX()) * (q2.getY() - q1.getY());
+                assertTrue(cross > -EPS * 1e4);
+            }
+        }
+    }
+    
+    public void testRotatingCalipers_Randomised() {
+        Random rand = new Random();
+        
+        for (int kind = HullTestData.UNIFORM; kind <= HullTestData.GRID; kind++) {
+            for (int test = 0; test < 200; test++) {
+                
+                ArrayList<Point> points = new ArrayList<Point>();
+                int size = 1 + rand.nextInt(test < 100 ? 6 : 300);
+                for (int i = 0; i < size; i++) {
+                    points.add(HullTestData.randomPoint(rand, kind));
+                }
+                Polygon hull = ConvexHull.MonotoneChain(points);
+                
+                double diameter = naiveDiameter(hull);
+                double[] widthAndArea = naiveWidthAndArea(hull);
+                
+                ArrayList<Point> pair = RotatingCalipers.farthestPair(hull);
+                assertEquals(diameter, pair.get(0).dist(pair.get(1)), EPS);
+                assertEquals(diameter, RotatingCalipers.diameter(hull), EPS);
+                assertEquals(widthAndArea[0], RotatingCalipers.width(hull), EPS);
+                
+                Polygon rect = RotatingCalipers.minimumAreaRectangle(hull);
+                checkRectangle(hull, rect, widthAndArea[1]);
+                
+                // The same on the indices
+                PointSet set = new PointSet(points);
+                int[] indices = ConvexHull.MonotoneChain(set);
+                int[] indexPair = RotatingCalipers.farthestPair(set, indices);
+                assertEquals(diameter, points.get(indexPair[0]).dist(points.get(indexPair[1])), EPS);
+                assertEquals(diameter, RotatingCalipers.diameter(set, indices), EPS);
+                assertEquals(widthAndArea[0], RotatingCalipers.width(set, indices), EPS);
+                checkRectangle(hull, RotatingCalipers.minimumAreaRectangle(set, indices), widthAndArea[1]);
+                
+                // The Graham's scan may keep coinciding and collinear vertices
+                // (it needs a hull of a positive area and fails on the integer grids,
+                // where many points are collinear with the lowest one)
+                if (kind != HullTestData.GRID && hull.size() >= 3) {
+                    Polygon graham = ConvexHull.Graham(points);
+                    assertEquals(diameter, RotatingCalipers.diameter(graham), EPS);
+                    assertEquals(widthAndArea[0], RotatingCalipers.width(graham), EPS);
+                    checkRectangle(hull, RotatingCalipers.minimumAreaRectangle(graham), widthAndArea[1]);
+                    
+                    int[] grahamIndices = ConvexHull.Graham(set);
+                    indexPair = RotatingCalipers.farthestPair(set, grahamIndices);
+                    assertEquals(diameter, points.get(indexPair[0]).dist(points.get(indexPair[1])), EPS);
+                    assertEquals(widthAndArea[0], RotatingCalipers.width(set, grahamIndices), EPS);
+                    checkRectangle(hull, RotatingCalipers.minimumAreaRectangle(set, grahamIndices),
+                                   widthAndArea[1]);
+                }
+            }
+        }
+    }
+    
+    public void testRotatingCalipers_Square() {
+        
+        Polygon square = new Polygon();
+        square.add(new Point(0, 0));
+        square.add(new Point(2, 0));
+        square.add(new Point(2, 2));
+        square.add(new Point(0, 2));
+        
+        assertEquals(Math.sqrt(8), RotatingCalipers.diameter(square), EPS);
+        assertEquals(2, RotatingCalipers.width(square), EPS);
+        checkRectangle(square, RotatingCalipers.minimumAreaRectangle(square), 4);
+        
+        // The duplicates of the lowest point, as the Graham's scan keeps them
+        ArrayList<Point> points = new ArrayList<Point>();
+        points.add(new Point(0, 0));
+        points.add(new Point(0, 0));
+        points.add(new Point(4, 0));
+        points.add(new Point(4, 3));
+        points.add(new Point(0, 3));
+        points.add(new Point(1, 1));
+        Polygon graham = ConvexHull.Graham(points);
+        assertEquals(5, RotatingCalipers.diameter(graham), EPS);
+        assertEquals(3, RotatingCalipers.width(graham), EPS);
+        checkRectangle(graham, RotatingCalipers.minimumAreaRectangle(graham), 12);
+        
+        // A vertex on an edge
+        Polygon withCollinear = new Polygon();
+        withCollinear.add(new Point(0, 0));
+        withCollinear.add(new Point(1, 0));
+        withCollinear.add(new Point(2, 0));
+        withCollinear.add(new Point(2, 2));
+        withCollinear.add(new Point(0, 2));
+        assertEquals(2, RotatingCalipers.width(withCollinear), EPS);
+        checkRectangle(withCollinear, RotatingCalipers.minimumAreaRectangle(withCollinear), 4);
+        
+        // Collinear and coinciding vertices only
+        Polygon segment = new Polygon();
+        segment.add(new Point(1, 1));
+        segment.add(new Point(3, 3));
+        segment.add(new Point(2, 2));
+        segment.add(new Point(1, 1));
+        assertEquals(Math.sqrt(8), RotatingCalipers.diameter(segment), EPS);
+        assertEquals(0, RotatingCalipers.width(segment), EPS);
+        checkRectangle(segment, RotatingCalipers.minimumAreaRectangle(segment), 0);
+        
+        try {
+            RotatingCalipers.diameter(new Polygon());
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package ru.dubov.convexhull.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import junit.framework.TestCase;
+import ru.dubov.convexhull.ConvexHull;
+import ru.dubov.convexhull.StreamingConvexHull;
+import ru.dubov.primitives.MappedPointSource;
+import ru.dubov.primitives.Point;
+import ru.dubov.primitives.PointSet;
+import ru.dubov.primitives.Polygon;
+
+
+public class StreamingConvexHullTest extends TestCase {
+    
+    private void checkHull(PointSet points, StreamingConvexHull hull) {
+        int[] CH_MonotoneChain = ConvexHull.MonotoneChain(points);
+        Polygon CH_Streaming = hull.toPolygon();
+        
+        assertEquals(points.size(), hull.count());
+        assertEquals(CH_MonotoneChain.length, hull.size());
+        assertEquals(CH_MonotoneChain.length, CH_Streaming.size());
+        for (int i = 0; i < CH_Streaming.size(); i++) {
+            assertEquals(points.get(CH_MonotoneChain[i]), CH_Streaming.get(i));
+        }
+    }
+    
+    public void testStreamingConvexHull_Randomised() {
+        Random rand = new Random();
+        
+        for (int kind = HullTestData.UNIFORM; kind <= HullTestData.LINE; kind++) {
+            for (int test = 0; test < 10; test++) {
+                
+                StreamingConvexHull hull = new StreamingConvexHull();
+                PointSet points = new PointSet();
+                assertEquals(0, hull.toPolygon().size());
+                
+                for (int step = 0; step < 50; step++) {
+                    // Chunks of a single point or of coinciding points too
+                    PointSet chunk = new PointSet();
+                    int size = rand.nextInt(100);
+                    for (int i = 0; i < size; i++) {
+                        if (i > 0 && rand.nextInt(10) == 0) {
+                            chunk.add(chunk.getX(0), chunk.getY(0));
+                        } else {
+                            Point p = HullTestData.randomPoint(rand, kind);
+                            chunk.add(p.getX(), p.getY());
+                        }
+                        points.add(chunk.getX(i), chunk.getY(i));
+                    }
+                    
+                    hull.add(chunk);
+                    if (points.size() > 0) {
+                        checkHull(points, hull);
+                    }
+                }
+            }
+        }
+    }
+    
+    public void testStreamingConvexHull_File() throws IOException {
+        Random rand = new Random();
+        
+        PointSet points = new PointSet();
+        for (int i = 0; i < 10000; i++) {
+            Point p = HullTestData.randomPoint(rand, rand.nextInt(HullTestData.GRID + 1));
+            points.add(p.getX(), p.getY());
+        }
+        
+        File file = File.createTempFile("points", ".bin");
+        file.deleteOnExit();
+        MappedPointSource.write(file.toPath(), points);
+        
+        // The last chunk is incomplete
+        StreamingConvexHull hull = new StreamingConvexHull();
+        hull.addFile(file.toPath(), 999);
+        checkHull(points, hull);
+        
+        // The chunk size is checked before the file is read
+        for (int chunkSize : new int[] {0, -1, StreamingConvexHull.MAX_CHUNK_SIZE + 1, Integer.MAX_VALUE}) {
+            try {
+                hull.addFile(file.toPath(), chunkSize);
+                fail();
+            } catch (IllegalArgumentException e) {
+            }
+        }
+        assertEquals(points.size(), hull.count());
+    }
+}
@@ -0,0 +1,153 @@
+package ru.dubov.closestpair;
+
+import java.util.Arrays;
+import ru.dubov.primitives.PointSource;
+
+/**
+ * A uniform grid of square cells over a set of points,
+ * stored as a hash table with open addressing (linear probing)
+ * whose keys are the coordinates of the nonempty cells
+ * packed into a long.
+ * 
+ * The points of each cell form a singly linked list
+ * kept in a plain int array, so neither adding a point
+ * nor looking up a cell creates any objects.
+ * Clearing the grid takes time proportional to the number
+ * of nonempty cells rather than to the size of the table.
+ * 
+ * @author Mikhail Dubov
+ */
+class CellGrid {
+    
+    /**
+     * Creates an empty grid for the given set of points.
+     * 
+     * @param points The set of points
+     */
+    public CellGrid(PointSource points) {
+        
+        this.points = points;
+        int n = points.size();
+        
+        // The cell (0, 0) is at the lower left corner of the bounding box
+        double minX = points.getX(0), maxX = minX;
+        double minY = points.getY(0), maxY = minY;
+        for (int i = 1; i < n; i++) {
+            minX = Math.min(minX, points.getX(i));
+            maxX = Math.max(maxX, points.getX(i));
+            minY = Math.min(minY, points.getY(i));
+            maxY = Math.max(maxY, points.getY(i));
+        }
+        originX = minX;
+        originY = minY;
+        extent = Math.max(maxX - minX, maxY - minY);
+        
+        // The load factor never exceeds 1/2
+        int capacity = Integer.highestOneBit(Math.max(n, 2)) * 4;
+        keys = new long[capacity];
+        heads = new int[capacity];
+        Arrays.fill(heads, -1);
+        mask = capacity - 1;
+        
+        usedSlots = new int[n];
+        next = new int[n];
+    }
+    
+    /**
+     * Removes all the points and sets the new cell size.
+     * The cells may be made larger, so that their coordinates fit in an int.
+     * 
+     * @param cellSize The minimal side of a cell
+     */
+    public void reset(double cellSize) {
+        for (int i = 0; i < usedCount; i++) {
+            heads[usedSlots[i]] = -1;
+        }
+        usedCount = 0;
+        this.cellSize = Math.max(cellSize, extent / MAX_CELLS);
+    }
+    
+    /**
+     * Adds a point to the cell containing it.
+     * 
+     * @param p The index of the point
+     */
+    public void add(int p) {
+        
+        long key = key(cellX(p), cellY(p));
+        int slot = slot(key);
+        
+        if (heads[slot] == -1) {
+            keys[slot] = key;
+            usedSlots[usedCount++] = slot;
+        }
+        
+        next[p] = heads[slot];
+        heads[slot] = p;
+    }
+    
+    /**
+     * Returns the first point in the given cell.
+     * 
+     * @return The index of the point, or -1 if the cell is empty
+     */
+    public int first(int cx, int cy) {
+        return heads[slot(key(cx, cy))];
+    }
+    
+    /**
+     * Returns the point following p in its cell.
+     * 
+     * @return The index of the point, or -1 if p is the last one
+     */
+    public int next(int p) {
+        return next[p];
+    }
+    
+    public int cellX(int p) {
+        return (int)((points.getX(p) - originX) / cellSize);
+    }
+    
+    public int cellY(int p) {
+        return (int)((points.getY(p) - originY) / cellSize);
+    }
+    
+    private static long key(int cx, int cy) {
+        return ((long)cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+    
+    /**
+     * Finds the slot of the given cell: either the one
+     * that stores it or the empty one where it should be stored.
+     */
+    private int slot(long key) {
+        
+        long h = key * 0x9E3779B97F4A7C15L;
+        int slot = (int)(h ^ (h >>> 32)) & mask;
+        
+        while (heads[slot] != -1 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        
+        return slot;
+    }
+    
+    private final PointSource points;
+    private final double originX, originY, extent;
+    private double cellSize;
+    
+    /** The hash table of the nonempty cells **/
+    private final long[] keys;
+    private final int[] heads;
+    private final int mask;
+    
+    /** The slots in use, for fast clearing **/
+    private final int[] usedSlots;
+    private int usedCount;
+    
+    /** The lists of points in the cells **/
+    private final int[] next;
+    
+    /** The maximal number of cells along a side of the bounding box **/
+    private static final double MAX_CELLS = 1 << 30;
+}
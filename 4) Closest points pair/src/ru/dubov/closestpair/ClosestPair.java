@@ -1,10 +1,15 @@
 package ru.dubov.closestpair;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
+import ru.dubov.primitives.IndexSort;
 import ru.dubov.primitives.Point;
+import ru.dubov.primitives.PointSet;
+import ru.dubov.primitives.PointSource;
 
 /**
  * Finds the pair of closest points using different algorithms.
@@ -15,16 +20,23 @@ public class ClosestPair {
     
     /**
      * Finds the pair of closest points using a naive method in O(n^2).
+     * 
+     * The squared distances are compared, so that
+     * no square roots are taken in the loop.
      */
     public static ArrayList<Point> Naive(ArrayList<Point> points) {
         Point p0 = points.get(0);
         Point p1 = points.get(1);
+        double minSquaredDist = squaredDist(p0, p1);
         
         for (int i = 0; i < points.size() - 1; i++) {
+            Point pi = points.get(i);
             for (int j = i + 1; j < points.size(); j++) {
-                if(dist(points.get(i), points.get(j)) < dist(p0, p1)) {
-                    p0 = points.get(i);
+                double d = squaredDist(pi, points.get(j));
+                if(d < minSquaredDist) {
+                    p0 = pi;
                     p1 = points.get(j);
+                    minSquaredDist = d;
                 }
             } 
         }
@@ -39,197 +51,681 @@ public class ClosestPair {
     /**
      * Finds the pair of closest points using
      * a "divide and conquer" algorithm in O(n*log(n)).
+     * 
+     * The coordinates are copied into a PointSet once, and the
+     * recursion works on int[] index arrays with a single scratch buffer,
+     * so no lists are created at the recursion levels.
      */
     public static ArrayList<Point> Fast(ArrayList<Point> points) {
-        ArrayList<Point> X = (ArrayList<Point>)points.clone();
-        ArrayList<Point> Y = (ArrayList<Point>)points.clone();
-
-        Collections.sort(X, new PointComparatorX());
-        Collections.sort(Y, new PointComparatorY());
-
-        return ClosestPair(X, Y);
+        if (points.size() < 2) {
+            return null;
+        }
+        
+        int[] closest = Fast(new PointSet(points));
+        
+        ArrayList<Point> resultPair = new ArrayList<Point>();
+        resultPair.add(points.get(closest[0]));
+        resultPair.add(points.get(closest[1]));
+        
+        return resultPair;
     }
 
     /**
-     * The recursive procedure for the "Fast" algorithm.
+     * Finds the pair of closest points using
+     * a "divide and conquer" algorithm in O(n*log(n)).
+     * 
+     * Works on the point indices only, so that
+     * no Point objects are created.
+     * 
+     * @param points The set of points
+     * @return The indices of the two closest points,
+     *         null if there are less than two points
+     */
+    public static int[] Fast(PointSource points) {
+        int n = points.size();
+        if (n < 2) {
+            return null;
+        }
+        
+        // X is sorted once; Y gets sorted by Y coordinate
+        // range by range during the recursion (as in merge sort)
+        int[] X = new int[n];
+        for (int i = 0; i < n; i++) {
+            X[i] = i;
+        }
+        IndexSort.sort(X, new IndexComparatorX(points));
+        int[] Y = X.clone();
+        int[] buffer = new int[n];
+        
+        IndexPair result = new IndexPair();
+        ClosestPair(points, X, Y, buffer, 0, n, result);
+        
+        return new int[] {result.i, result.j};
+    }
+    
+    /**
+     * Finds the pair of closest points using
+     * a "divide and conquer" algorithm in O(n*log(n)),
+     * solving the two halves in parallel as fork-join tasks
+     * in the common pool.
+     * 
+     * @param points The set of points
+     * @return The indices of the two closest points,
+     *         null if there are less than two points
      */
-    private static ArrayList<Point> ClosestPair(ArrayList<Point> X, ArrayList<Point> Y) {
+    public static int[] FastParallel(PointSource points) {
+        return FastParallel(points, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Finds the pair of closest points using
+     * a "divide and conquer" algorithm in O(n*log(n)),
+     * solving the two halves in parallel as fork-join tasks
+     * in the given pool.
+     * 
+     * The point source should be safe to read from several threads.
+     * 
+     * @param points The set of points
+     * @param pool The fork-join pool
+     * @return The indices of the two closest points,
+     *         null if there are less than two points
+     */
+    public static int[] FastParallel(final PointSource points, ForkJoinPool pool) {
+        final int n = points.size();
+        if (n < 2) {
+            return null;
+        }
+        
+        IndexPair result = pool.invoke(new RecursiveTask<IndexPair>() {
+            
+            @Override
+            protected IndexPair compute() {
+                int[] X = new int[n];
+                for (int i = 0; i < n; i++) {
+                    X[i] = i;
+                }
+                IndexSort.parallelSort(X, new IndexComparatorX(points));
+                int[] Y = X.clone();
+                int[] buffer = new int[n];
                 
-        ArrayList<Point> resultPair = new ArrayList<Point>();
-
-        // Recursion base case: |P| <= 3
-        if (X.size() <= 1) {
-            resultPair = null;
-        } else if (X.size() == 2) {
-            resultPair = X;
-        } else if (X.size() == 3) {
-            // |P| == 3 => Brute force
-            double dist1 = dist(X.get(0), X.get(1));
-            double dist2 = dist(X.get(0), X.get(2));
-            double dist3 = dist(X.get(1), X.get(2));
-
-            if (dist2 < dist3) {
-                if (dist1 < dist2) {
-                    resultPair.add(X.get(0));
-                    resultPair.add(X.get(1));
-                } else {
-                    resultPair.add(X.get(0));
-                    resultPair.add(X.get(2));
+                return new ClosestPairTask(points, X, Y, buffer, 0, n).compute();
+            }
+        });
+        
+        return new int[] {result.i, result.j};
+    }
+    
+    /**
+     * The recursive procedure for the "FastParallel" algorithm:
+     * finds the closest pair in X[from, to) and sorts Y[from, to)
+     * by the Y coordinate, forking a task for one of the halves.
+     * The tasks work on disjoint ranges of X, Y and the buffer.
+     */
+    static class ClosestPairTask extends RecursiveTask<IndexPair> {
+        
+        ClosestPairTask(PointSource points, int[] X, int[] Y, int[] buffer,
+                        int from, int to) {
+            this.points = points;
+            this.X = X;
+            this.Y = Y;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected IndexPair compute() {
+            
+            IndexPair result = new IndexPair();
+            
+            if (to - from <= PARALLEL_THRESHOLD) {
+                ClosestPair(points, X, Y, buffer, from, to, result);
+                return result;
+            }
+            
+            int mid = (from + to) / 2;
+            double lX = points.getX(X[mid]);
+            
+            ClosestPairTask left = new ClosestPairTask(points, X, Y, buffer, from, mid);
+            left.fork();
+            IndexPair rightResult = new ClosestPairTask(points, X, Y, buffer, mid, to).compute();
+            IndexPair leftResult = left.join();
+            
+            result = (leftResult.squaredDist <= rightResult.squaredDist ? leftResult : rightResult);
+            
+            ClosestBetweenHalves(points, Y, buffer, from, mid, to, lX, result);
+            
+            return result;
+        }
+        
+        private final PointSource points;
+        private final int[] X, Y, buffer;
+        private final int from, to;
+        
+        private static final long serialVersionUID = 1L;
+    }
+    
+    /**
+     * Finds the pair of closest points using a randomized
+     * grid algorithm in O(n) expected time.
+     * 
+     * @param points The set of points
+     * @return The indices of the two closest points,
+     *         null if there are less than two points
+     */
+    public static int[] Randomized(PointSource points) {
+        return Randomized(points, new Random());
+    }
+    
+    /**
+     * Finds the pair of closest points using a randomized
+     * grid algorithm in O(n) expected time.
+     * 
+     * The points are inserted in random order into a grid of cells
+     * whose side is the closest distance d found so far, so a closer
+     * pair for a new point can only lie in the 3x3 block of cells
+     * around it. When such a pair is found, the grid is rebuilt
+     * with the new d. The ith point changes d with probability
+     * at most 2/i, so the expected total cost of the rebuilds is O(n).
+     * 
+     * See "A Simple Randomized Sieve Algorithm for the Closest-Pair Problem"
+     * by Samir Khuller and Yossi Matias and "Randomized Data Structures
+     * for the Dynamic Closest-Pair Problem" by Golin et al. for details.
+     * 
+     * @param points The set of points
+     * @param rand The source of randomness
+     * @return The indices of the two closest points,
+     *         null if there are less than two points
+     */
+    public static int[] Randomized(PointSource points, Random rand) {
+        int n = points.size();
+        if (n < 2) {
+            return null;
+        }
+        
+        IndexPair result = new IndexPair();
+        
+        // Random insertion order
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1);
+            int t = order[i];
+            order[i] = order[j];
+            order[j] = t;
+        }
+        
+        // The points are copied in that order,
+        // so that they are then read sequentially
+        double[] xs = new double[n], ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = points.getX(order[i]);
+            ys[i] = points.getY(order[i]);
+        }
+        PointSet shuffled = new PointSet(xs, ys);
+        
+        CellGrid grid = new CellGrid(shuffled);
+        
+        result.update(shuffled, 0, 1);
+        if (result.squaredDist > 0) {
+            grid.reset(Math.sqrt(result.squaredDist));
+            grid.add(0);
+            grid.add(1);
+        }
+        
+        for (int p = 2; p < n && result.squaredDist > 0; p++) {
+            int cx = grid.cellX(p), cy = grid.cellY(p);
+            
+            boolean closer = false;
+            for (int x = cx - 1; x <= cx + 1; x++) {
+                for (int y = cy - 1; y <= cy + 1; y++) {
+                    for (int q = grid.first(x, y); q != -1; q = grid.next(q)) {
+                        double d = result.squaredDist;
+                        result.update(shuffled, q, p);
+                        closer |= (result.squaredDist < d);
+                    }
                 }
-            } else {
-                if (dist1 < dist3) {
-                    resultPair.add(X.get(0));
-                    resultPair.add(X.get(1));
-                } else {
-                    resultPair.add(X.get(1));
-                    resultPair.add(X.get(2));
+            }
+            
+            if (! closer) {
+                grid.add(p);
+            } else if (result.squaredDist > 0) {
+                // Rebuild the grid with the smaller cells
+                grid.reset(Math.sqrt(result.squaredDist));
+                for (int q = 0; q <= p; q++) {
+                    grid.add(q);
                 }
             }
         }
-        // Recursion step: divide & conquer
-        else {
-            double lX = (X.get(X.size() / 2)).getX();
-
-            // Divide ...
-
-            ArrayList<Point> XL = new ArrayList<Point>();
-            ArrayList<Point> XR = new ArrayList<Point>();
-
-            for (int i = 0; i < X.size(); i++) {
-                if ((X.get(i)).getX() <= lX) {
-                    XL.add(X.get(i));
-                } else {
-                    XR.add(X.get(i));
+        
+        return new int[] {order[result.i], order[result.j]};
+    }
+    
+    /**
+     * Finds the nearest neighbour of every point using
+     * a "divide and conquer" algorithm.
+     * 
+     * The recursion is the same as in the "Fast" algorithm, but
+     * each point keeps the distance r to its nearest neighbour found
+     * so far instead of a single distance for the whole set.
+     * In the combine step, a point at a distance less than r from
+     * the dividing line is compared with the points of the other half
+     * that are less than r away from it along the Y axis; the points
+     * of its own half are not scanned.
+     * 
+     * For points spread evenly this takes O(n*log(n)). Unlike in the
+     * "Fast" algorithm, r differs from point to point, so no packing
+     * argument bounds the combine step, and the worst case is O(n^2)
+     * (every pair of points is compared at most twice).
+     * 
+     * The results are passed to the consumer as (p, q, distance)
+     * in the order of the point indices p; if several points are
+     * equally near to p, any one of them may be reported.
+     * 
+     * @param points The set of points
+     * @param consumer Receives the nearest neighbour of each point
+     */
+    public static void AllNearestNeighbours(PointSource points, PairConsumer consumer) {
+        int n = points.size();
+        if (n < 2) {
+            return;
+        }
+        
+        int[] X = new int[n];
+        for (int i = 0; i < n; i++) {
+            X[i] = i;
+        }
+        IndexSort.sort(X, new IndexComparatorX(points));
+        int[] Y = X.clone();
+        int[] buffer = new int[n];
+        
+        int[] nearest = new int[n];
+        double[] squaredDist = new double[n];
+        Arrays.fill(squaredDist, Double.POSITIVE_INFINITY);
+        
+        AllNearestNeighbours(points, X, Y, buffer, 0, n, nearest, squaredDist);
+        
+        for (int p = 0; p < n; p++) {
+            consumer.accept(p, nearest[p], Math.sqrt(squaredDist[p]));
+        }
+    }
+    
+    /**
+     * Finds the k closest pairs of points using
+     * a "divide and conquer" algorithm in O(n*log(n)) for a fixed k.
+     * 
+     * The recursion is the same as in the "Fast" algorithm,
+     * with the k closest pairs found so far kept in a bounded heap.
+     * The width of the strip checked in the combine step is
+     * the distance between the points of the kth pair in the heap
+     * (unbounded while it has less than k pairs). Only the pairs
+     * with a point in each half are scanned there, so that every pair
+     * gets into the heap at most once.
+     * 
+     * The results are passed to the consumer as (p, q, distance)
+     * in the order of increasing distance. If there are less than k
+     * pairs of points, all of them are reported.
+     * 
+     * @param points The set of points
+     * @param k The number of pairs
+     * @param consumer Receives the closest pairs
+     */
+    public static void KClosestPairs(PointSource points, int k, PairConsumer consumer) {
+        int n = points.size();
+        if (n < 2 || k <= 0) {
+            return;
+        }
+        
+        int[] X = new int[n];
+        for (int i = 0; i < n; i++) {
+            X[i] = i;
+        }
+        IndexSort.sort(X, new IndexComparatorX(points));
+        int[] Y = X.clone();
+        int[] buffer = new int[n];
+        
+        PairHeap heap = new PairHeap((int)Math.min(k, (long)n * (n - 1) / 2));
+        
+        KClosestPairs(points, X, Y, buffer, 0, n, heap);
+        
+        heap.sort();
+        for (int i = 0; i < heap.size(); i++) {
+            consumer.accept(heap.getFirst(i), heap.getSecond(i),
+                            Math.sqrt(heap.getSquaredDist(i)));
+        }
+    }
+    
+    /**
+     * The recursive procedure for the "AllNearestNeighbours" algorithm:
+     * updates the nearest neighbours of the points in X[from, to)
+     * with the points of the same range and sorts Y[from, to)
+     * by the Y coordinate.
+     */
+    private static void AllNearestNeighbours(PointSource points, int[] X, int[] Y,
+                                             int[] buffer, int from, int to,
+                                             int[] nearest, double[] squaredDist) {
+        
+        // Recursion base case: |P| <= 3 => Brute force
+        if (to - from <= 3) {
+            for (int i = from; i < to - 1; i++) {
+                for (int j = i + 1; j < to; j++) {
+                    UpdateNeighbours(points, X[i], X[j], nearest, squaredDist);
                 }
             }
-
-            ArrayList<Point> YL = new ArrayList<Point>();
-            ArrayList<Point> YR = new ArrayList<Point>();
-
-            for (int i = 0; i < Y.size(); i++) {
-                if ((Y.get(i)).getX() <= lX) {
-                    YL.add(Y.get(i));
-                } else {
-                    YR.add(Y.get(i));
-                }
+            SortByY(points, Y, from, to);
+            return;
+        }
+        
+        // Divide ...
+        int mid = (from + to) / 2;
+        double lX = points.getX(X[mid]);
+        
+        // ... Conquer ...
+        AllNearestNeighbours(points, X, Y, buffer, from, mid, nearest, squaredDist);
+        AllNearestNeighbours(points, X, Y, buffer, mid, to, nearest, squaredDist);
+        
+        // ... Combine (while the halves of Y are still apart).
+        NeighboursInOtherHalf(points, Y, from, mid, mid, to, lX, nearest, squaredDist);
+        NeighboursInOtherHalf(points, Y, mid, to, from, mid, lX, nearest, squaredDist);
+        
+        MergeByY(points, Y, buffer, from, mid, to);
+    }
+    
+    /**
+     * The combine step for the "AllNearestNeighbours" algorithm:
+     * compares each point of Y[from, to) near the dividing line lX
+     * with the points of the other half Y[otherFrom, otherTo)
+     * near it along the Y axis. Both ranges are sorted by Y.
+     */
+    private static void NeighboursInOtherHalf(PointSource points, int[] Y, int from, int to,
+                                              int otherFrom, int otherTo, double lX,
+                                              int[] nearest, double[] squaredDist) {
+        
+        int start = otherFrom;
+        for (int i = from; i < to; i++) {
+            int p = Y[i];
+            double y = points.getY(p);
+            
+            // The first point of the other half that is not below p
+            while (start < otherTo && points.getY(Y[start]) < y) {
+                start++;
             }
             
-            // The degenerate case when all the points go to the left should be
-            // treated with care. This happens e.g. when all the points have
-            // the same X coordinate.
-            // TODO(mikhaildubov): performance can degrade to O(n^2) here if
-            //                     all the points are on the Y axis.
-            if (XR.size() == 0) {
-                // Temporary solution: just move the "rightmost" point from XL to XR
-                Point repl = XL.get(XL.size()-1);
-                
-                XL.remove(repl);
-                XR.add(repl);
-                
-                YL.remove(repl);
-                YR.add(repl);
+            double dx = points.getX(p) - lX;
+            if (dx * dx >= squaredDist[p]) {
+                continue;
             }
             
-
-            // ... Conquer ...
-
-            ArrayList<Point> ClosestLeft = ClosestPair(XL, YL);
-            ArrayList<Point> ClosestRight = ClosestPair(XR, YR);
-            ArrayList<Point> ClosestBetween = ClosestBetweenSubsets(X, Y,
-                                                Math.min(dist(ClosestLeft), dist(ClosestRight)));
-
-            double distLeft = dist(ClosestLeft);
-            double distRight = dist(ClosestRight);
-            double distBetween = dist(ClosestBetween);
-
-            // ... Combine.
-
-            if (distLeft < distRight) {
-                if (distBetween < distLeft) {
-                    resultPair = ClosestBetween;
-                } else {
-                    resultPair = ClosestLeft;
+            for (int j = start; j < otherTo; j++) {
+                double dy = points.getY(Y[j]) - y;
+                if (dy * dy >= squaredDist[p]) {
+                    break;
                 }
-            } else {
-                if (distBetween < distRight) {
-                    resultPair = ClosestBetween;
+                UpdateNeighbours(points, p, Y[j], nearest, squaredDist);
+            }
+            for (int j = start - 1; j >= otherFrom; j--) {
+                double dy = y - points.getY(Y[j]);
+                if (dy * dy >= squaredDist[p]) {
+                    break;
+                }
+                UpdateNeighbours(points, p, Y[j], nearest, squaredDist);
+            }
+        }
+    }
+    
+    private static void UpdateNeighbours(PointSource points, int p, int q,
+                                         int[] nearest, double[] squaredDist) {
+        double dx = points.getX(p) - points.getX(q);
+        double dy = points.getY(p) - points.getY(q);
+        double d = dx * dx + dy * dy;
+        if (d < squaredDist[p]) {
+            nearest[p] = q;
+            squaredDist[p] = d;
+        }
+        if (d < squaredDist[q]) {
+            nearest[q] = p;
+            squaredDist[q] = d;
+        }
+    }
+    
+    /**
+     * The recursive procedure for the "KClosestPairs" algorithm:
+     * offers the pairs of points in X[from, to) to the heap
+     * and sorts Y[from, to) by the Y coordinate.
+     */
+    private static void KClosestPairs(PointSource points, int[] X, int[] Y, int[] buffer,
+                                      int from, int to, PairHeap heap) {
+        
+        // Recursion base case: |P| <= 3 => Brute force
+        if (to - from <= 3) {
+            for (int i = from; i < to - 1; i++) {
+                for (int j = i + 1; j < to; j++) {
+                    heap.offer(points, X[i], X[j]);
+                }
+            }
+            SortByY(points, Y, from, to);
+            return;
+        }
+        
+        // Divide ...
+        int mid = (from + to) / 2;
+        double lX = points.getX(X[mid]);
+        
+        // ... Conquer ...
+        KClosestPairs(points, X, Y, buffer, from, mid, heap);
+        KClosestPairs(points, X, Y, buffer, mid, to, heap);
+        
+        // ... Combine: the strip around lX, keeping the halves apart
+        // (the left one in buffer[from, leftEnd), the right one
+        // in buffer[mid, rightEnd), both sorted by Y) ...
+        int leftEnd = from, rightEnd = mid;
+        for (int i = from; i < to; i++) {
+            double dx = points.getX(Y[i]) - lX;
+            if (dx * dx < heap.bound()) {
+                if (i < mid) {
+                    buffer[leftEnd++] = Y[i];
                 } else {
-                    resultPair = ClosestRight;
+                    buffer[rightEnd++] = Y[i];
                 }
             }
         }
-
-        return resultPair;
+        
+        // ... where each point of the left half is paired
+        // with the points of the right half near it along the Y axis
+        int start = mid;
+        for (int i = from; i < leftEnd; i++) {
+            double y = points.getY(buffer[i]);
+            while (start < rightEnd && points.getY(buffer[start]) < y) {
+                start++;
+            }
+            
+            for (int j = start; j < rightEnd; j++) {
+                double dy = points.getY(buffer[j]) - y;
+                if (dy * dy >= heap.bound()) {
+                    break;
+                }
+                heap.offer(points, buffer[i], buffer[j]);
+            }
+            for (int j = start - 1; j >= mid; j--) {
+                double dy = y - points.getY(buffer[j]);
+                if (dy * dy >= heap.bound()) {
+                    break;
+                }
+                heap.offer(points, buffer[i], buffer[j]);
+            }
+        }
+        
+        MergeByY(points, Y, buffer, from, mid, to);
     }
-
-    private static ArrayList<Point> ClosestBetweenSubsets(ArrayList<Point> X, ArrayList<Point> Y, double d) {
-        double lX = (X.get(X.size() / 2)).getX();
-
-        // Populate the Y2 list
-        ArrayList<Point> Y2 = new ArrayList<Point>();
-        for (int i = 0; i < Y.size(); i++) {
-            if (Math.abs((Y.get(i)).getX() - lX) <= d) {
-                Y2.add(Y.get(i));
+    
+    /**
+     * The recursive procedure for the "Fast" algorithm on a point source:
+     * updates the result with the closest pair in X[from, to)
+     * and sorts Y[from, to) by the Y coordinate.
+     */
+    private static void ClosestPair(PointSource points, int[] X, int[] Y, int[] buffer,
+                                    int from, int to, IndexPair result) {
+        
+        // Recursion base case: |P| <= 3 => Brute force
+        if (to - from <= 3) {
+            for (int i = from; i < to - 1; i++) {
+                for (int j = i + 1; j < to; j++) {
+                    result.update(points, X[i], X[j]);
+                }
             }
+            SortByY(points, Y, from, to);
+            return;
         }
-
-        // Iterate over Y2 in search of the nearest points
-        if (Y2.size() < 2) {
-            return null;
+        
+        // Divide by the rank in X, so that the halves are always balanced ...
+        int mid = (from + to) / 2;
+        double lX = points.getX(X[mid]);
+        
+        // ... Conquer ...
+        ClosestPair(points, X, Y, buffer, from, mid, result);
+        ClosestPair(points, X, Y, buffer, mid, to, result);
+        
+        // ... Combine.
+        ClosestBetweenHalves(points, Y, buffer, from, mid, to, lX, result);
+    }
+    
+    /**
+     * The combine step for the "Fast" algorithm on a point source:
+     * merges the sorted halves Y[from, mid) and Y[mid, to),
+     * then updates the result with the pairs in the strip around lX.
+     */
+    private static void ClosestBetweenHalves(PointSource points, int[] Y, int[] buffer,
+                                             int from, int mid, int to, double lX,
+                                             IndexPair result) {
+        
+        // Merge the halves of Y ...
+        MergeByY(points, Y, buffer, from, mid, to);
+        
+        // ... and check the points in the strip around lX
+        int stripSize = 0;
+        for (int i = from; i < to; i++) {
+            double dx = points.getX(Y[i]) - lX;
+            if (dx * dx < result.squaredDist) {
+                buffer[from + stripSize++] = Y[i];
+            }
         }
-
-        Point p1 = Y2.get(0);
-        Point p2 = Y2.get(1);
-
-        // It is enough to check only 7 points
-        for (int i = 0; i < Y2.size() - 1; i++) {
-            for (int j = i + 1; j <= Math.min(i + 8, Y2.size() - 1); j++)
-                if (dist(Y2.get(i), Y2.get(j)) < dist(p1, p2)) {
-                    p1 = Y2.get(i);
-                    p2 = Y2.get(j);
+        for (int i = from; i < from + stripSize - 1; i++) {
+            double y = points.getY(buffer[i]);
+            for (int j = i + 1; j < from + stripSize; j++) {
+                double dy = points.getY(buffer[j]) - y;
+                if (dy * dy >= result.squaredDist) {
+                    break;
                 }
+                result.update(points, buffer[i], buffer[j]);
+            }
         }
-
-        ArrayList resultPair = new ArrayList();
-        resultPair.add(p1);
-        resultPair.add(p2);
-
-        return resultPair;
     }
-
-    public static double dist(Point p0, Point p1) {
-        return Math.sqrt((p1.getX() - p0.getX()) * (p1.getX() - p0.getX()) +
-                         (p1.getY() - p0.getY()) * (p1.getY() - p0.getY()));
+    
+    /**
+     * Sorts the short range Y[from, to) by the Y coordinate
+     * using insertion sort.
+     */
+    private static void SortByY(PointSource points, int[] Y, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int t = Y[i];
+            int j = i - 1;
+            while (j >= from && points.getY(Y[j]) > points.getY(t)) {
+                Y[j + 1] = Y[j];
+                j--;
+            }
+            Y[j + 1] = t;
+        }
     }
-
-    private static double dist(ArrayList<Point> pair) {
-        if (pair == null || pair.size() != 2) {
-            return Double.POSITIVE_INFINITY;
-        } else {
-            return Math.sqrt(((pair.get(1)).getX() - (pair.get(0)).getX()) * ((pair.get(1)).getX() - (pair.get(0)).getX()) +
-                         ((pair.get(1)).getY() - (pair.get(0)).getY()) * ((pair.get(1)).getY() - (pair.get(0)).getY()));
+    
+    /**
+     * Merges the ranges Y[from, mid) and Y[mid, to),
+     * both sorted by the Y coordinate, using the buffer.
+     */
+    private static void MergeByY(PointSource points, int[] Y, int[] buffer,
+                                 int from, int mid, int to) {
+        int i = from, j = mid, k = from;
+        while (i < mid && j < to) {
+            if (points.getY(Y[j]) < points.getY(Y[i])) {
+                buffer[k++] = Y[j++];
+            } else {
+                buffer[k++] = Y[i++];
+            }
+        }
+        while (i < mid) {
+            buffer[k++] = Y[i++];
+        }
+        while (j < to) {
+            buffer[k++] = Y[j++];
         }
+        System.arraycopy(buffer, from, Y, from, to - from);
     }
-
-
-    static class PointComparatorX implements Comparator<Point> {
-
-         public int compare(Point p1, Point p2) {
-             
-             if (p1.getX() < p2.getX()) return -1;
-             if (p1.getX() > p2.getX()) return 1;
-             return 0;
-         }
+    
+    public static double dist(Point p0, Point p1) {
+        return Math.sqrt(squaredDist(p0, p1));
+    }
+    
+    private static double squaredDist(Point p0, Point p1) {
+        return (p1.getX() - p0.getX()) * (p1.getX() - p0.getX()) +
+               (p1.getY() - p0.getY()) * (p1.getY() - p0.getY());
     }
 
-    static class PointComparatorY implements Comparator<Point> {
+    /**
+     * Receives the pairs of points found
+     * by the "AllNearestNeighbours" and "KClosestPairs" algorithms.
+     */
+    public interface PairConsumer {
         
+        /**
+         * @param p The index of the first point
+         * @param q The index of the second point
+         * @param dist The distance between the points
+         */
+        void accept(int p, int q, double dist);
+    }
+    
+    /**
+     * The closest pair of points found so far
+     * (with the squared distance between them).
+     */
+    static class IndexPair {
+        
+        public void update(PointSource points, int p1, int p2) {
+            double dx = points.getX(p1) - points.getX(p2);
+            double dy = points.getY(p1) - points.getY(p2);
+            double d = dx * dx + dy * dy;
+            if (d < squaredDist) {
+                i = p1;
+                j = p2;
+                squaredDist = d;
+            }
+        }
+        
+        int i = 0, j = 1;
+        double squaredDist = Double.POSITIVE_INFINITY;
+    }
+    
+    static class IndexComparatorX implements IndexSort.IndexComparator {
+        
+        private PointSource points;
+        
+        public IndexComparatorX(PointSource points) {
+            this.points = points;
+        }
+        
+        // Ties are broken by the Y coordinate
         @Override
-        public int compare(Point p1, Point p2) {
-             
-            if (p1.getY() < p2.getY()) return -1;
-            if (p1.getY() > p2.getY()) return 1;
+        public int compare(int p1, int p2) {
+            
+            if (points.getX(p1) < points.getX(p2)) return -1;
+            if (points.getX(p1) > points.getX(p2)) return 1;
+            if (points.getY(p1) < points.getY(p2)) return -1;
+            if (points.getY(p1) > points.getY(p2)) return 1;
             return 0;
         }
     }
+    
+    /** Ranges of at most this many points are solved in a single task **/
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
 }
\ No newline at end of file
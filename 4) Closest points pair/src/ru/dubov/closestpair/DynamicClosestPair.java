@@ -0,0 +1,612 @@
+package ru.dubov.closestpair;
+
+import java.util.Arrays;
+
+import ru.dubov.primitives.PointSource;
+
+/**
+ * A set of points that supports insertions and deletions
+ * and keeps track of the pair of closest points.
+ * 
+ * Each point knows its nearest neighbour, and the points are kept
+ * in a heap by the distance to it, so the closest pair is at the top.
+ * A new point can become the nearest neighbour of only a few points
+ * (at most 6 in the plane, except for the duplicates), and so can
+ * a deleted one have been, so an update changes few neighbours.
+ * 
+ * The points are stored in static k-d trees of sizes up to
+ * 1, 2, 4, 8, ... (the "logarithmic method" by Bentley and Saxe):
+ * an insertion merges the smaller trees into a bigger one, and
+ * a deletion just marks the point as deleted; all the trees are rebuilt
+ * when more than half of the points in them are deleted. So the updates
+ * take O(log^2(n)) amortized time, plus the time of the searches in the
+ * trees, which is O(log(n)) on typical data but not in the worst case.
+ * Besides the bounding box, each tree node stores an upper bound of the
+ * distances from the points of its subtree to their nearest neighbours,
+ * which is used to find the points whose nearest neighbour is changed.
+ * 
+ * The points are identified by the ids returned on insertion.
+ * The id of a deleted point may be given to another point later.
+ * NB: The structure is not thread-safe.
+ * 
+ * @author Mikhail Dubov
+ */
+public class DynamicClosestPair {
+    
+    /**
+     * Creates an empty set of points.
+     */
+    public DynamicClosestPair() {
+        this(16);
+    }
+    
+    /**
+     * Creates an empty set of points with the given initial capacity.
+     * 
+     * @param capacity The initial capacity
+     */
+    public DynamicClosestPair(int capacity) {
+        
+        capacity = Math.max(capacity, 2);
+        xs = new double[capacity];
+        ys = new double[capacity];
+        nearest = new int[capacity];
+        squaredDist = new double[capacity];
+        alive = new boolean[capacity];
+        level = new int[capacity];
+        slot = new int[capacity];
+        heap = new int[capacity];
+        heapPos = new int[capacity];
+        freeIds = new int[capacity];
+        pending = new int[16];
+        
+        levelIds = new int[LEVELS][];
+        levelSize = new int[LEVELS];
+        minX = new double[LEVELS][];
+        maxX = new double[LEVELS][];
+        minY = new double[LEVELS][];
+        maxY = new double[LEVELS][];
+        maxDist = new double[LEVELS][];
+    }
+    
+    /**
+     * Creates a set of the given points, with the ids 0..n-1
+     * being the indices of the points.
+     * The nearest neighbours are found in O(n*log(n)) by
+     * the "ClosestPair.AllNearestNeighbours" algorithm.
+     * 
+     * @param points The points
+     */
+    public DynamicClosestPair(PointSource points) {
+        this(points.size());
+        
+        int n = points.size();
+        for (int i = 0; i < n; i++) {
+            xs[i] = points.getX(i);
+            ys[i] = points.getY(i);
+            nearest[i] = -1;
+            squaredDist[i] = Double.POSITIVE_INFINITY;
+            alive[i] = true;
+        }
+        idCount = n;
+        aliveCount = n;
+        
+        ClosestPair.AllNearestNeighbours(points, new ClosestPair.PairConsumer() {
+            
+            @Override
+            public void accept(int p, int q, double dist) {
+                double dx = xs[p] - xs[q];
+                double dy = ys[p] - ys[q];
+                nearest[p] = q;
+                squaredDist[p] = dx * dx + dy * dy;
+            }
+        });
+        
+        for (int i = 0; i < n; i++) {
+            heapInsert(i);
+        }
+        
+        rebuild();
+    }
+    
+    /**
+     * Inserts a point into the set.
+     * 
+     * @param x The X coordinate
+     * @param y The Y coordinate
+     * @return The id of the new point
+     */
+    public int insert(double x, double y) {
+        
+        int p = newId();
+        xs[p] = x;
+        ys[p] = y;
+        alive[p] = true;
+        aliveCount++;
+        
+        // The nearest neighbour of the new point ...
+        findNearest(p);
+        
+        // ... and the points that it is the nearest neighbour for
+        pendingCount = 0;
+        for (int l = 0; l < LEVELS; l++) {
+            findReverse(l, 0, levelSize[l], p, false);
+        }
+        for (int i = 0; i < pendingCount; i++) {
+            int q = pending[i];
+            double dx = xs[p] - xs[q];
+            double dy = ys[p] - ys[q];
+            nearest[q] = p;
+            squaredDist[q] = dx * dx + dy * dy;
+            siftUp(heapPos[q]);
+        }
+        
+        heapInsert(p);
+        addToLevels(p);
+        
+        return p;
+    }
+    
+    /**
+     * Deletes a point from the set.
+     * 
+     * @param p The id of the point
+     */
+    public void delete(int p) {
+        
+        checkId(p);
+        
+        alive[p] = false;
+        aliveCount--;
+        deadCount++;
+        heapRemove(p);
+        
+        // The points that the deleted point was the nearest neighbour for
+        pendingCount = 0;
+        for (int l = 0; l < LEVELS; l++) {
+            findReverse(l, 0, levelSize[l], p, true);
+        }
+        for (int i = 0; i < pendingCount; i++) {
+            int q = pending[i];
+            findNearest(q);
+            siftDown(heapPos[q]);
+            raiseMaxDist(q);
+        }
+        
+        if (deadCount > aliveCount) {
+            rebuild();
+        }
+    }
+    
+    /**
+     * Returns the pair of closest points in O(1).
+     * 
+     * @return The ids of the two closest points,
+     *         or null if there are less than two points
+     */
+    public int[] closestPair() {
+        if (aliveCount < 2) {
+            return null;
+        }
+        return new int[] {heap[0], nearest[heap[0]]};
+    }
+    
+    /**
+     * Returns the distance between the closest points in O(1).
+     * 
+     * @return The distance, or infinity if there are less than two points
+     */
+    public double closestDistance() {
+        if (aliveCount < 2) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return Math.sqrt(squaredDist[heap[0]]);
+    }
+    
+    /**
+     * Returns the nearest neighbour of a point in O(1).
+     * 
+     * @param p The id of the point
+     * @return The id of the nearest point, or -1 if p is the only point
+     */
+    public int nearestNeighbour(int p) {
+        checkId(p);
+        return nearest[p];
+    }
+    
+    public int size() {
+        return aliveCount;
+    }
+    
+    public double getX(int p) {
+        return xs[p];
+    }
+    
+    public double getY(int p) {
+        return ys[p];
+    }
+    
+    /**
+     * Checks that p is the id of a point in the set
+     * (not deleted and not unused).
+     */
+    private void checkId(int p) {
+        if (p < 0 || p >= idCount || ! alive[p]) {
+            throw new IllegalArgumentException("No point with id " + p);
+        }
+    }
+    
+    /**
+     * Finds the nearest neighbour of p among the other
+     * points in the trees and stores it.
+     */
+    private void findNearest(int p) {
+        bestId = -1;
+        bestDist = Double.POSITIVE_INFINITY;
+        for (int l = 0; l < LEVELS; l++) {
+            findNearest(l, 0, levelSize[l], p);
+        }
+        nearest[p] = bestId;
+        squaredDist[p] = bestDist;
+    }
+    
+    private void findNearest(int l, int lo, int hi, int p) {
+        if (lo >= hi) {
+            return;
+        }
+        
+        int mid = (lo + hi) >>> 1;
+        if (boxDist(l, mid, p) >= bestDist) {
+            return;
+        }
+        
+        int q = levelIds[l][mid];
+        if (q != p && alive[q]) {
+            double dx = xs[p] - xs[q];
+            double dy = ys[p] - ys[q];
+            double d = dx * dx + dy * dy;
+            if (d < bestDist) {
+                bestId = q;
+                bestDist = d;
+            }
+        }
+        
+        // The nearer subtree first
+        int left = (lo + mid) >>> 1, right = (mid + 1 + hi) >>> 1;
+        if (lo < mid && (mid + 1 >= hi || boxDist(l, left, p) <= boxDist(l, right, p))) {
+            findNearest(l, lo, mid, p);
+            findNearest(l, mid + 1, hi, p);
+        } else {
+            findNearest(l, mid + 1, hi, p);
+            findNearest(l, lo, mid, p);
+        }
+    }
+    
+    /**
+     * Collects the points q in a subtree which p is closer to
+     * than the nearest neighbour of q (for an insertion) or which
+     * have p as the nearest neighbour (for a deletion).
+     */
+    private void findReverse(int l, int lo, int hi, int p, boolean deleted) {
+        if (lo >= hi) {
+            return;
+        }
+        
+        int mid = (lo + hi) >>> 1;
+        if (boxDist(l, mid, p) > maxDist[l][mid]) {
+            return;
+        }
+        
+        int q = levelIds[l][mid];
+        if (q != p && alive[q]) {
+            boolean found;
+            if (deleted) {
+                found = (nearest[q] == p);
+            } else {
+                double dx = xs[p] - xs[q];
+                double dy = ys[p] - ys[q];
+                found = (dx * dx + dy * dy < squaredDist[q]);
+            }
+            if (found) {
+                if (pendingCount == pending.length) {
+                    pending = Arrays.copyOf(pending, 2 * pendingCount);
+                }
+                pending[pendingCount++] = q;
+            }
+        }
+        
+        findReverse(l, lo, mid, p, deleted);
+        findReverse(l, mid + 1, hi, p, deleted);
+    }
+    
+    /**
+     * The squared distance from p to the bounding box
+     * of the subtree with the root at the given slot.
+     */
+    private double boxDist(int l, int s, int p) {
+        double dx = Math.max(0, Math.max(minX[l][s] - xs[p], xs[p] - maxX[l][s]));
+        double dy = Math.max(0, Math.max(minY[l][s] - ys[p], ys[p] - maxY[l][s]));
+        return dx * dx + dy * dy;
+    }
+    
+    /**
+     * Updates the bounds of the nearest neighbour distances
+     * on the path to p after that distance has increased.
+     */
+    private void raiseMaxDist(int p) {
+        int l = level[p], s = slot[p];
+        int lo = 0, hi = levelSize[l];
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            maxDist[l][mid] = Math.max(maxDist[l][mid], squaredDist[p]);
+            if (s == mid) {
+                break;
+            } else if (s < mid) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+    }
+    
+    /**
+     * Adds a point to the trees, merging the smaller trees
+     * with it into the first empty level. The deleted points
+     * of the merged trees are dropped.
+     */
+    private void addToLevels(int p) {
+        
+        int l = 0;
+        while (levelSize[l] > 0) {
+            l++;
+        }
+        
+        if (levelIds[l] == null) {
+            int size = 1 << l;
+            levelIds[l] = new int[size];
+            minX[l] = new double[size];
+            maxX[l] = new double[size];
+            minY[l] = new double[size];
+            maxY[l] = new double[size];
+            maxDist[l] = new double[size];
+        }
+        
+        int size = 0;
+        int[] ids = levelIds[l];
+        for (int i = 0; i < l; i++) {
+            for (int j = 0; j < levelSize[i]; j++) {
+                int q = levelIds[i][j];
+                if (alive[q]) {
+                    ids[size++] = q;
+                } else {
+                    freeId(q);
+                }
+            }
+            levelSize[i] = 0;
+        }
+        ids[size++] = p;
+        
+        levelSize[l] = size;
+        build(l, 0, size);
+    }
+    
+    /**
+     * Rebuilds the trees from the points that are not deleted,
+     * putting them all into the smallest level they fit in.
+     */
+    private void rebuild() {
+        
+        int l = 0;
+        while ((1 << l) < aliveCount) {
+            l++;
+        }
+        
+        int[] ids = new int[1 << l];
+        int size = 0;
+        for (int p = 0; p < idCount; p++) {
+            if (alive[p]) {
+                ids[size++] = p;
+            }
+        }
+        
+        // All the deleted points are dropped
+        freeCount = 0;
+        for (int p = idCount - 1; p >= 0; p--) {
+            if (! alive[p]) {
+                freeIds[freeCount++] = p;
+            }
+        }
+        deadCount = 0;
+        
+        Arrays.fill(levelSize, 0);
+        levelIds[l] = ids;
+        minX[l] = new double[ids.length];
+        maxX[l] = new double[ids.length];
+        minY[l] = new double[ids.length];
+        maxY[l] = new double[ids.length];
+        maxDist[l] = new double[ids.length];
+        
+        levelSize[l] = size;
+        build(l, 0, size);
+    }
+    
+    /**
+     * Builds a k-d tree on the slots [lo, hi) of a level: the median
+     * by the coordinate of the larger extent is put into the middle
+     * slot, which also stores the bounds for the whole subtree.
+     */
+    private void build(int l, int lo, int hi) {
+        if (lo >= hi) {
+            return;
+        }
+        
+        int[] ids = levelIds[l];
+        double x0 = Double.POSITIVE_INFINITY, x1 = Double.NEGATIVE_INFINITY;
+        double y0 = Double.POSITIVE_INFINITY, y1 = Double.NEGATIVE_INFINITY;
+        double d = 0;
+        for (int i = lo; i < hi; i++) {
+            int p = ids[i];
+            x0 = Math.min(x0, xs[p]);
+            x1 = Math.max(x1, xs[p]);
+            y0 = Math.min(y0, ys[p]);
+            y1 = Math.max(y1, ys[p]);
+            d = Math.max(d, squaredDist[p]);
+        }
+        
+        int mid = (lo + hi) >>> 1;
+        select(ids, lo, hi, mid, (x1 - x0 >= y1 - y0 ? xs : ys));
+        
+        minX[l][mid] = x0;
+        maxX[l][mid] = x1;
+        minY[l][mid] = y0;
+        maxY[l][mid] = y1;
+        maxDist[l][mid] = d;
+        level[ids[mid]] = l;
+        slot[ids[mid]] = mid;
+        
+        build(l, lo, mid);
+        build(l, mid + 1, hi);
+    }
+    
+    /**
+     * Reorders ids[lo, hi) so that ids[k] is the point that would be there
+     * if the range were sorted by the coordinate, with no greater ones
+     * before it and no smaller ones after it (Hoare's selection).
+     */
+    private static void select(int[] ids, int lo, int hi, int k, double[] coord) {
+        hi--;
+        while (lo < hi) {
+            double pivot = coord[ids[(lo + hi) >>> 1]];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (coord[ids[i]] < pivot) i++;
+                while (coord[ids[j]] > pivot) j--;
+                if (i <= j) {
+                    int t = ids[i];
+                    ids[i] = ids[j];
+                    ids[j] = t;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+    
+    private int newId() {
+        if (freeCount > 0) {
+            return freeIds[--freeCount];
+        }
+        if (idCount == xs.length) {
+            int capacity = 2 * idCount;
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            nearest = Arrays.copyOf(nearest, capacity);
+            squaredDist = Arrays.copyOf(squaredDist, capacity);
+            alive = Arrays.copyOf(alive, capacity);
+            level = Arrays.copyOf(level, capacity);
+            slot = Arrays.copyOf(slot, capacity);
+            heap = Arrays.copyOf(heap, capacity);
+            heapPos = Arrays.copyOf(heapPos, capacity);
+            freeIds = Arrays.copyOf(freeIds, capacity);
+        }
+        return idCount++;
+    }
+    
+    private void freeId(int p) {
+        freeIds[freeCount++] = p;
+        deadCount--;
+    }
+    
+    /*
+     * The heap of the points by the distance to their nearest neighbours
+     */
+    
+    private void heapInsert(int p) {
+        heap[heapSize] = p;
+        heapPos[p] = heapSize;
+        siftUp(heapSize++);
+    }
+    
+    private void heapRemove(int p) {
+        int i = heapPos[p];
+        heapSize--;
+        if (i < heapSize) {
+            int last = heap[heapSize];
+            heap[i] = last;
+            heapPos[last] = i;
+            siftUp(i);
+            if (heapPos[last] == i) {
+                siftDown(i);
+            }
+        }
+    }
+    
+    private void siftUp(int i) {
+        int p = heap[i];
+        while (i > 0 && squaredDist[heap[(i - 1) / 2]] > squaredDist[p]) {
+            heap[i] = heap[(i - 1) / 2];
+            heapPos[heap[i]] = i;
+            i = (i - 1) / 2;
+        }
+        heap[i] = p;
+        heapPos[p] = i;
+    }
+    
+    private void siftDown(int i) {
+        int p = heap[i];
+        while (2 * i + 1 < heapSize) {
+            int child = 2 * i + 1;
+            if (child + 1 < heapSize && squaredDist[heap[child + 1]] < squaredDist[heap[child]]) {
+                child++;
+            }
+            if (squaredDist[heap[child]] >= squaredDist[p]) {
+                break;
+            }
+            heap[i] = heap[child];
+            heapPos[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = p;
+        heapPos[p] = i;
+    }
+    
+    /** The points, by their ids **/
+    private double[] xs, ys;
+    private boolean[] alive;
+    private int idCount, aliveCount, deadCount;
+    private int[] freeIds;
+    private int freeCount;
+    
+    /** The nearest neighbours (with the squared distances to them) **/
+    private int[] nearest;
+    private double[] squaredDist;
+    
+    /** The heap of the points and their positions in it **/
+    private int[] heap, heapPos;
+    private int heapSize;
+    
+    /** The trees: the points in the slots of each level ... **/
+    private final int[][] levelIds;
+    private final int[] levelSize;
+    
+    /** ... the bounds of the subtrees stored in their middle slots ... **/
+    private final double[][] minX, maxX, minY, maxY, maxDist;
+    
+    /** ... and the place of each point in them **/
+    private int[] level, slot;
+    
+    /** The state of the searches **/
+    private int bestId;
+    private double bestDist;
+    private int[] pending;
+    private int pendingCount;
+    
+    private static final int LEVELS = 32;
+}
@@ -0,0 +1,137 @@
+package ru.dubov.closestpair;
+
+import ru.dubov.primitives.PointSource;
+
+/**
+ * A bounded heap of pairs of points that keeps the closest
+ * of the pairs offered to it. The pair with the largest distance
+ * is at the top, so that it is the one to be replaced.
+ * 
+ * The pairs are stored in parallel arrays
+ * (with the squared distances between the points),
+ * so offering a pair creates no objects.
+ * 
+ * @author Mikhail Dubov
+ */
+class PairHeap {
+    
+    /**
+     * Creates an empty heap.
+     * 
+     * @param capacity The maximal number of pairs
+     */
+    public PairHeap(int capacity) {
+        first = new int[capacity];
+        second = new int[capacity];
+        squaredDist = new double[capacity];
+    }
+    
+    /**
+     * Returns the squared distance that a pair should be closer than
+     * to get into the heap: the largest one in the heap if it is full,
+     * infinity otherwise.
+     */
+    public double bound() {
+        return (size == squaredDist.length ? squaredDist[0] : Double.POSITIVE_INFINITY);
+    }
+    
+    /**
+     * Adds a pair of points to the heap if it is closer
+     * than the bound, removing the farthest pair if needed.
+     * 
+     * @param points The set of points
+     * @param p The index of the first point
+     * @param q The index of the second point
+     */
+    public void offer(PointSource points, int p, int q) {
+        
+        double dx = points.getX(p) - points.getX(q);
+        double dy = points.getY(p) - points.getY(q);
+        double d = dx * dx + dy * dy;
+        
+        if (d >= bound()) {
+            return;
+        }
+        
+        int i;
+        if (size < squaredDist.length) {
+            // Sift up from the new leaf
+            i = size++;
+            while (i > 0 && squaredDist[(i - 1) / 2] < d) {
+                move((i - 1) / 2, i);
+                i = (i - 1) / 2;
+            }
+        } else {
+            // Sift down from the root, replacing the farthest pair
+            i = siftDown(0, d, size);
+        }
+        
+        first[i] = p;
+        second[i] = q;
+        squaredDist[i] = d;
+    }
+    
+    /**
+     * Sorts the pairs by increasing distance (using heapsort).
+     * NB: After that, no more pairs should be offered.
+     */
+    public void sort() {
+        for (int end = size - 1; end > 0; end--) {
+            int p = first[end], q = second[end];
+            double d = squaredDist[end];
+            move(0, end);
+            
+            int i = siftDown(0, d, end);
+            first[i] = p;
+            second[i] = q;
+            squaredDist[i] = d;
+        }
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public int getFirst(int i) {
+        return first[i];
+    }
+    
+    public int getSecond(int i) {
+        return second[i];
+    }
+    
+    public double getSquaredDist(int i) {
+        return squaredDist[i];
+    }
+    
+    /**
+     * Moves the children of the hole at i up while they are
+     * farther than d, considering only the first "end" pairs.
+     * 
+     * @return The place for the pair with the squared distance d
+     */
+    private int siftDown(int i, double d, int end) {
+        while (2 * i + 1 < end) {
+            int child = 2 * i + 1;
+            if (child + 1 < end && squaredDist[child + 1] > squaredDist[child]) {
+                child++;
+            }
+            if (squaredDist[child] <= d) {
+                break;
+            }
+            move(child, i);
+            i = child;
+        }
+        return i;
+    }
+    
+    private void move(int from, int to) {
+        first[to] = first[from];
+        second[to] = second[from];
+        squaredDist[to] = squaredDist[from];
+    }
+    
+    private final int[] first, second;
+    private final double[] squaredDist;
+    private int size;
+}
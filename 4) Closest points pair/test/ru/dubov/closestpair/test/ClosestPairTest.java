@@ -1,11 +1,18 @@
 package ru.dubov.closestpair.test;
 
 import ru.dubov.closestpair.ClosestPair;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import junit.framework.TestCase;
 import ru.dubov.closestpair.ClosestPair;
+import ru.dubov.primitives.MappedPointSource;
 import ru.dubov.primitives.Point;
+import ru.dubov.primitives.PointSet;
 
 
 public class ClosestPairTest extends TestCase {
@@ -68,4 +75,233 @@ public class ClosestPairTest extends TestCase {
             checkClosestPair(points);
         }
     }
+    
+    public void testClosestPair_PointSet() {
+        Random rand = new Random();
+        
+        for (int n = 2; n <= 100; n++) {
+            ArrayList<Point> points = new ArrayList<Point>();
+            
+            for(int i = 0; i < n; i++) {
+                points.add(new Point(rand.nextInt(50), rand.nextInt(50)));
+            }
+            
+            ArrayList<Point> resNaive = ClosestPair.Naive(points);
+            int[] resPointSet = ClosestPair.Fast(new PointSet(points));
+            
+            assertEquals(ClosestPair.dist(resNaive.get(0), resNaive.get(1)),
+                         ClosestPair.dist(points.get(resPointSet[0]), points.get(resPointSet[1])));
+        }
+    }
+    
+    public void testClosestPair_TooFewPoints() {
+        
+        // No pair exists for zero points and for a single one
+        ArrayList<Point> list = new ArrayList<Point>();
+        PointSet points = new PointSet();
+        for (int n = 0; n < 2; n++) {
+            assertNull(ClosestPair.Fast(list));
+            assertNull(ClosestPair.Fast(points));
+            assertNull(ClosestPair.FastParallel(points));
+            assertNull(ClosestPair.FastParallel(points, new ForkJoinPool(3)));
+            assertNull(ClosestPair.Randomized(points));
+            list.add(new Point(1, 2));
+            points.add(1, 2);
+        }
+    }
+    
+    public void testClosestPair_MappedPointSource() throws IOException {
+        Random rand = new Random();
+        
+        PointSet points = new PointSet();
+        for(int i = 0; i < 10000; i++) {
+            points.add(rand.nextDouble()*100, rand.nextDouble()*100);
+        }
+        
+        File file = File.createTempFile("points", ".bin");
+        file.deleteOnExit();
+        MappedPointSource.write(file.toPath(), points);
+        
+        MappedPointSource mapped = new MappedPointSource(file.toPath());
+        assertEquals(points.size(), mapped.size());
+        
+        int[] resPointSet = ClosestPair.Fast(points);
+        int[] resMapped = ClosestPair.Fast(mapped);
+        
+        assertEquals(ClosestPair.dist(points.get(resPointSet[0]), points.get(resPointSet[1])),
+                     ClosestPair.dist(points.get(resMapped[0]), points.get(resMapped[1])));
+    }
+    
+    public void testClosestPair_Parallel() {
+        Random rand = new Random();
+        
+        for (int n : new int[] {2, 100, 50000, 200000}) {
+            PointSet points = new PointSet();
+            for(int i = 0; i < n; i++) {
+                points.add(rand.nextDouble()*100, rand.nextDouble()*100);
+            }
+            
+            int[] resFast = ClosestPair.Fast(points);
+            int[] resParallel = ClosestPair.FastParallel(points);
+            
+            ForkJoinPool pool = new ForkJoinPool(3);
+            int[] resPool = ClosestPair.FastParallel(points, pool);
+            pool.shutdown();
+            
+            double dist = ClosestPair.dist(points.get(resFast[0]), points.get(resFast[1]));
+            assertEquals(dist, ClosestPair.dist(points.get(resParallel[0]), points.get(resParallel[1])));
+            assertEquals(dist, ClosestPair.dist(points.get(resPool[0]), points.get(resPool[1])));
+        }
+    }
+    
+    public void testClosestPair_Vertical() {
+        Random rand = new Random();
+        
+        // All the X coordinates are equal: the closest pair
+        // is given by the smallest gap between the sorted Y coordinates
+        int n = 200000;
+        double[] ys = new double[n];
+        ArrayList<Point> points = new ArrayList<Point>();
+        for (int i = 0; i < n; i++) {
+            ys[i] = rand.nextDouble()*100;
+            points.add(new Point(100, ys[i]));
+        }
+        
+        Arrays.sort(ys);
+        double minGap = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < n - 1; i++) {
+            minGap = Math.min(minGap, ys[i + 1] - ys[i]);
+        }
+        
+        ArrayList<Point> resFast = ClosestPair.Fast(points);
+        assertEquals(minGap, ClosestPair.dist(resFast.get(0), resFast.get(1)));
+    }
+    
+    public void testClosestPair_Grid() {
+        
+        // Many equal X and Y coordinates
+        ArrayList<Point> points = new ArrayList<Point>();
+        for (int i = 0; i < 300; i++) {
+            for (int j = 0; j < 300; j++) {
+                points.add(new Point(2 * i, 3 * j));
+            }
+        }
+        
+        ArrayList<Point> resFast = ClosestPair.Fast(points);
+        assertEquals(2.0, ClosestPair.dist(resFast.get(0), resFast.get(1)));
+        
+        checkClosestPair(new ArrayList<Point>(points.subList(0, 1000)));
+    }
+    
+    public void testClosestPair_Randomized() {
+        Random rand = new Random();
+        
+        for (int n = 2; n <= 2000; n += 1 + n / 4) {
+            PointSet points = new PointSet();
+            
+            // Integer coordinates give many equal coordinates and duplicates;
+            // the scale is varied to get the clusters of different density
+            double scale = Math.pow(10, rand.nextInt(7) - 3);
+            for(int i = 0; i < n; i++) {
+                points.add(rand.nextInt(1000) * scale, rand.nextInt(1000) * scale);
+            }
+            
+            int[] resFast = ClosestPair.Fast(points);
+            int[] resRandomized = ClosestPair.Randomized(points, rand);
+            
+            assertTrue(resRandomized[0] != resRandomized[1]);
+            assertEquals(ClosestPair.dist(points.get(resFast[0]), points.get(resFast[1])),
+                         ClosestPair.dist(points.get(resRandomized[0]), points.get(resRandomized[1])));
+        }
+        
+        // A large set with a wide range of distances
+        PointSet points = new PointSet();
+        for(int i = 0; i < 100000; i++) {
+            points.add(rand.nextDouble() * 1e9, rand.nextDouble() * 1e-3);
+        }
+        
+        int[] resFast = ClosestPair.Fast(points);
+        int[] resRandomized = ClosestPair.Randomized(points);
+        
+        assertEquals(ClosestPair.dist(points.get(resFast[0]), points.get(resFast[1])),
+                     ClosestPair.dist(points.get(resRandomized[0]), points.get(resRandomized[1])));
+    }
+    
+    public void testAllNearestNeighbours() {
+        Random rand = new Random();
+        
+        for (int n = 2; n <= 2000; n += 1 + n / 4) {
+            final PointSet points = new PointSet();
+            
+            // Integer coordinates give many equal distances and duplicates
+            for(int i = 0; i < n; i++) {
+                points.add(rand.nextInt(100), rand.nextInt(100));
+            }
+            
+            final double[] nearestDist = new double[n];
+            Arrays.fill(nearestDist, -1);
+            
+            ClosestPair.AllNearestNeighbours(points, new ClosestPair.PairConsumer() {
+                
+                @Override
+                public void accept(int p, int q, double dist) {
+                    assertTrue(p != q);
+                    assertEquals(-1.0, nearestDist[p]);
+                    assertEquals(ClosestPair.dist(points.get(p), points.get(q)), dist);
+                    nearestDist[p] = dist;
+                }
+            });
+            
+            for (int p = 0; p < n; p++) {
+                double minDist = Double.POSITIVE_INFINITY;
+                for (int q = 0; q < n; q++) {
+                    if (q != p) {
+                        minDist = Math.min(minDist, ClosestPair.dist(points.get(p), points.get(q)));
+                    }
+                }
+                assertEquals(minDist, nearestDist[p]);
+            }
+        }
+    }
+    
+    public void testKClosestPairs() {
+        Random rand = new Random();
+        
+        for (int n = 2; n <= 300; n += 1 + n / 4) {
+            final PointSet points = new PointSet();
+            for(int i = 0; i < n; i++) {
+                points.add(rand.nextInt(100), rand.nextInt(100));
+            }
+            
+            double[] allDist = new double[n * (n - 1) / 2];
+            int pairs = 0;
+            for (int p = 0; p < n - 1; p++) {
+                for (int q = p + 1; q < n; q++) {
+                    allDist[pairs++] = ClosestPair.dist(points.get(p), points.get(q));
+                }
+            }
+            Arrays.sort(allDist);
+            
+            for (int k : new int[] {1, 2, n, 10 * n, allDist.length + 1}) {
+                final ArrayList<Double> dists = new ArrayList<Double>();
+                final HashSet<Long> found = new HashSet<Long>();
+                
+                ClosestPair.KClosestPairs(points, k, new ClosestPair.PairConsumer() {
+                    
+                    @Override
+                    public void accept(int p, int q, double dist) {
+                        assertTrue(p != q);
+                        assertTrue(found.add((long)Math.min(p, q) << 32 | Math.max(p, q)));
+                        assertEquals(ClosestPair.dist(points.get(p), points.get(q)), dist);
+                        dists.add(dist);
+                    }
+                });
+                
+                assertEquals(Math.min(k, allDist.length), dists.size());
+                for (int i = 0; i < dists.size(); i++) {
+                    assertEquals(allDist[i], dists.get(i).doubleValue());
+                }
+            }
+        }
+    }
 }
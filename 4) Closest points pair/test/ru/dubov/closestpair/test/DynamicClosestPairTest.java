@@ -0,0 +1,135 @@
+package ru.dubov.closestpair.test;
+
+import java.util.ArrayList;
+import java.util.Random;
+import junit.framework.TestCase;
+import ru.dubov.closestpair.ClosestPair;
+import ru.dubov.closestpair.DynamicClosestPair;
+import ru.dubov.primitives.PointSet;
+
+
+public class DynamicClosestPairTest extends TestCase {
+    
+    private double naiveClosestDistance(DynamicClosestPair set, ArrayList<Integer> ids) {
+        double minDist = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < ids.size() - 1; i++) {
+            for (int j = i + 1; j < ids.size(); j++) {
+                minDist = Math.min(minDist, dist(set, ids.get(i), ids.get(j)));
+            }
+        }
+        return minDist;
+    }
+    
+    private double dist(DynamicClosestPair set, int p, int q) {
+        double dx = set.getX(p) - set.getX(q);
+        double dy = set.getY(p) - set.getY(q);
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+    
+    private void checkNearestNeighbours(DynamicClosestPair set, ArrayList<Integer> ids) {
+        for (int p : ids) {
+            double minDist = Double.POSITIVE_INFINITY;
+            for (int q : ids) {
+                if (q != p) {
+                    minDist = Math.min(minDist, dist(set, p, q));
+                }
+            }
+            int nn = set.nearestNeighbour(p);
+            assertTrue(ids.size() == 1 ? nn == -1 : ids.contains(nn) && nn != p);
+            if (nn != -1) {
+                assertEquals(minDist, dist(set, p, nn));
+            }
+        }
+    }
+    
+    public void testDynamicClosestPair_Randomised() {
+        Random rand = new Random();
+        
+        for (int test = 0; test < 20; test++) {
+            DynamicClosestPair set = new DynamicClosestPair();
+            ArrayList<Integer> ids = new ArrayList<Integer>();
+            
+            // Integer coordinates give many equal distances and duplicates
+            int range = 10 + rand.nextInt(1000);
+            int maxSize = 1 + rand.nextInt(300);
+            
+            for (int step = 0; step < 2000; step++) {
+                if (ids.size() < maxSize && (ids.isEmpty() || rand.nextInt(3) > 0)) {
+                    ids.add(set.insert(rand.nextInt(range), rand.nextInt(range)));
+                } else {
+                    set.delete(ids.remove(rand.nextInt(ids.size())));
+                }
+                
+                assertEquals(ids.size(), set.size());
+                assertEquals(naiveClosestDistance(set, ids), set.closestDistance());
+                
+                int[] pair = set.closestPair();
+                if (ids.size() < 2) {
+                    assertNull(pair);
+                } else {
+                    assertTrue(ids.contains(pair[0]) && ids.contains(pair[1]));
+                    assertEquals(set.closestDistance(), dist(set, pair[0], pair[1]));
+                }
+            }
+            
+            checkNearestNeighbours(set, ids);
+        }
+    }
+    
+    public void testDynamicClosestPair_PointSet() {
+        Random rand = new Random();
+        
+        PointSet points = new PointSet();
+        for (int i = 0; i < 2000; i++) {
+            points.add(rand.nextDouble() * 100, rand.nextDouble() * 100);
+        }
+        
+        DynamicClosestPair set = new DynamicClosestPair(points);
+        ArrayList<Integer> ids = new ArrayList<Integer>();
+        for (int i = 0; i < points.size(); i++) {
+            ids.add(i);
+        }
+        
+        int[] resFast = ClosestPair.Fast(points);
+        assertEquals(ClosestPair.dist(points.get(resFast[0]), points.get(resFast[1])),
+                     set.closestDistance());
+        checkNearestNeighbours(set, ids);
+        
+        // Moving points
+        for (int step = 0; step < 2000; step++) {
+            int i = rand.nextInt(ids.size());
+            int p = ids.get(i);
+            double x = set.getX(p) + rand.nextGaussian();
+            double y = set.getY(p) + rand.nextGaussian();
+            set.delete(p);
+            ids.set(i, set.insert(x, y));
+        }
+        
+        assertEquals(naiveClosestDistance(set, ids), set.closestDistance());
+        checkNearestNeighbours(set, ids);
+    }
+    
+    public void testDynamicClosestPair_InvalidId() {
+        
+        DynamicClosestPair set = new DynamicClosestPair();
+        int p = set.insert(1, 1);
+        int q = set.insert(2, 2);
+        set.delete(p);
+        
+        // A deleted id, a never used one and a negative one
+        for (int id : new int[] {p, q + 1, -1}) {
+            try {
+                set.nearestNeighbour(id);
+                fail();
+            } catch (IllegalArgumentException e) {
+            }
+            try {
+                set.delete(id);
+                fail();
+            } catch (IllegalArgumentException e) {
+            }
+        }
+        
+        assertEquals(-1, set.nearestNeighbour(q));
+    }
+}
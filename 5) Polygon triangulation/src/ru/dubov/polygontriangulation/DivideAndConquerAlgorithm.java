@@ -1,6 +1,8 @@
 package ru.dubov.polygontriangulation;
 
 import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import ru.dubov.primitives.Polygon;
 import ru.dubov.primitives.Triangle;
 
@@ -12,21 +14,90 @@ public class DivideAndConquerAlgorithm {
      * 
      * This implementation runs in O(n^4) worst case (!).
      * 
+     * The two subpolygons obtained by cutting the polygon along a diagonal
+     * are triangulated independently as fork-join tasks
+     * (in the common pool), so the method is thread-safe
+     * and uses all the cores for large polygons.
+     * 
      * @param p Polygon.
      * @return The array of triangles.
      */
     public static ArrayList<Triangle> triangulate(Polygon p) {
+        return triangulate(p, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Calculates the polygon triangulation
+     * using primitive divide & conquer strategy,
+     * triangulating the subpolygons as fork-join tasks
+     * in the given pool.
+     * 
+     * @param p Polygon.
+     * @param pool The fork-join pool
+     * @return The array of triangles.
+     */
+    public static ArrayList<Triangle> triangulate(Polygon p, ForkJoinPool pool) {
+        return pool.invoke(new DivideAndConquerTask(p, p.isClockwise()));
+    }
+    
+    /**
+     * Calculates the polygon triangulation
+     * using primitive divide & conquer strategy
+     * in the current thread.
+     * 
+     * @param p Polygon.
+     * @return The array of triangles.
+     */
+    public static ArrayList<Triangle> triangulateSequential(Polygon p) {
         
-        result = new ArrayList<Triangle>();
-        
-        isClockwise = p.isClockwise();
+        ArrayList<Triangle> result = new ArrayList<Triangle>();
         
-        divideAndConquer(p);
+        divideAndConquer(p, p.isClockwise(), result);
         
         return result;
     }
     
-    private static void divideAndConquer(Polygon p) {
+    /**
+     * Triangulates the polygon recursively,
+     * forking a task for each of the two subpolygons.
+     */
+    private static class DivideAndConquerTask extends RecursiveTask<ArrayList<Triangle>> {
+        
+        DivideAndConquerTask(Polygon p, boolean isClockwise) {
+            this.p = p;
+            this.isClockwise = isClockwise;
+        }
+        
+        @Override
+        protected ArrayList<Triangle> compute() {
+            
+            if (p.size() <= SEQUENTIAL_THRESHOLD) {
+                ArrayList<Triangle> result = new ArrayList<Triangle>();
+                divideAndConquer(p, isClockwise, result);
+                return result;
+            }
+            
+            int[] diagonal = findDiagonal(p, isClockwise);
+            
+            DivideAndConquerTask second = new DivideAndConquerTask(
+                    p.subPolygon(diagonal[1], diagonal[0]), isClockwise);
+            second.fork();
+            
+            ArrayList<Triangle> result = new DivideAndConquerTask(
+                    p.subPolygon(diagonal[0], diagonal[1]), isClockwise).compute();
+            result.addAll(second.join());
+            
+            return result;
+        }
+        
+        private final Polygon p;
+        private final boolean isClockwise;
+        
+        private static final long serialVersionUID = 1L;
+    }
+    
+    private static void divideAndConquer(Polygon p, boolean isClockwise,
+                                         ArrayList<Triangle> result) {
         
         if(p.size() < 3) {
             return;
@@ -36,11 +107,23 @@ public class DivideAndConquerAlgorithm {
             return;
         }
         
+        int[] diagonal = findDiagonal(p, isClockwise);
+        
+        divideAndConquer(p.subPolygon(diagonal[0], diagonal[1]), isClockwise, result);
+        divideAndConquer(p.subPolygon(diagonal[1], diagonal[0]), isClockwise, result);
+    }
+    
+    /**
+     * Looks for a diagonal of the polygon - O(n^3).
+     * 
+     * @return The indices of the diagonal endpoints
+     */
+    private static int[] findDiagonal(Polygon p, boolean isClockwise) {
+        
         boolean diag = true;
         int start = 0, finish = 0;
         int prev = 0, next = 0;
         
-        // Looking for a diagonal - O(n^3)
         outer: for(int i = 0; i < p.size()-1; i++) {
             for (int j = i+2; j < p.size(); j++) {
                 
@@ -90,11 +173,9 @@ public class DivideAndConquerAlgorithm {
             }
         }
         
-        
-        divideAndConquer(p.subPolygon(start, finish));
-        divideAndConquer(p.subPolygon(finish, start));
+        return new int[] {start, finish};
     }
     
-    static boolean isClockwise;
-    private static ArrayList<Triangle> result;
+    /** Polygons of at most this size are triangulated in a single task **/
+    private static final int SEQUENTIAL_THRESHOLD = 16;
 }
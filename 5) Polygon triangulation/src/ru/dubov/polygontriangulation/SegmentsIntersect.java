@@ -1,16 +1,15 @@
 package ru.dubov.polygontriangulation;
 import ru.dubov.primitives.Point;
+import ru.dubov.primitives.Predicates;
 
 public class SegmentsIntersect {
     
     private static double direction(Point p0, Point p1, Point p2) {
-        return ((p2.getX() - p0.getX()) * (p1.getY() - p0.getY()) -
-                (p2.getY() - p0.getY()) * (p1.getX() - p0.getX()));
+        return Predicates.orient2d(p0, p2, p1);
     }
     
     private static double crossProduct(Point p0, Point p1, Point p2) {
-        return (p1.getX() - p0.getX()) * (p2.getY() - p0.getY()) -
-                (p2.getX() - p0.getX()) * (p1.getY() - p0.getY());
+        return Predicates.orient2d(p0, p1, p2);
     }
     
     public static boolean isLeftTurn(Point p0, Point p1, Point p2) {
@@ -0,0 +1,98 @@
+package ru.dubov.polygontriangulation.test;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import junit.framework.TestCase;
+import ru.dubov.polygontriangulation.DivideAndConquerAlgorithm;
+import ru.dubov.primitives.Point;
+import ru.dubov.primitives.Polygon;
+import ru.dubov.primitives.Predicates;
+import ru.dubov.primitives.Triangle;
+
+public class DivideAndConquerAlgorithmTest extends TestCase {
+    
+    public void testTriangulate_Parallel() {
+        
+        Random rand = new Random();
+        ForkJoinPool pool = new ForkJoinPool(3);
+        
+        for (int repeat = 0; repeat < 10; repeat++) {
+            Polygon p = starPolygon(rand, 40 + rand.nextInt(40));
+            
+            ArrayList<Triangle> parallel = DivideAndConquerAlgorithm.triangulate(p);
+            ArrayList<Triangle> inPool = DivideAndConquerAlgorithm.triangulate(p, pool);
+            ArrayList<Triangle> sequential = DivideAndConquerAlgorithm.triangulateSequential(p);
+            
+            assertEquals(p.size() - 2, parallel.size());
+            assertEquals(sequential.size(), parallel.size());
+            assertEquals(area(sequential), area(parallel), 1e-9);
+            assertEquals(sequential.size(), inPool.size());
+            assertEquals(area(sequential), area(inPool), 1e-9);
+        }
+        
+        pool.shutdown();
+    }
+    
+    public void testTriangulate_Concurrent() throws Exception {
+        
+        Random rand = new Random();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        ArrayList<Polygon> polygons = new ArrayList<Polygon>();
+        ArrayList<Future<ArrayList<Triangle>>> futures = new ArrayList<Future<ArrayList<Triangle>>>();
+        
+        for (int i = 0; i < 40; i++) {
+            final Polygon p = starPolygon(rand, 10 + rand.nextInt(30));
+            polygons.add(p);
+            
+            futures.add(pool.submit(new Callable<ArrayList<Triangle>>() {
+                
+                @Override
+                public ArrayList<Triangle> call() {
+                    return DivideAndConquerAlgorithm.triangulate(p);
+                }
+            }));
+        }
+        
+        for (int i = 0; i < polygons.size(); i++) {
+            ArrayList<Triangle> triangulation = futures.get(i).get();
+            
+            assertEquals(polygons.get(i).size() - 2, triangulation.size());
+            assertEquals(area(DivideAndConquerAlgorithm.triangulateSequential(polygons.get(i))),
+                         area(triangulation), 1e-9);
+        }
+        
+        pool.shutdown();
+    }
+    
+    /**
+     * Generates a random polygon that is star-shaped around the origin.
+     */
+    private Polygon starPolygon(Random rand, int n) {
+        
+        Polygon p = new Polygon();
+        
+        for (int i = 0; i < n; i++) {
+            double angle = 2 * Math.PI * i / n;
+            double radius = 50 + 50 * rand.nextDouble();
+            p.add(new Point(radius * Math.cos(angle), radius * Math.sin(angle)));
+        }
+        
+        return p;
+    }
+    
+    private double area(ArrayList<Triangle> triangles) {
+        
+        double res = 0;
+        
+        for (Triangle t : triangles) {
+            res += Math.abs(Predicates.orient2d(t.getA(), t.getB(), t.getC())) / 2;
+        }
+        
+        return res;
+    }
+}
@@ -168,6 +168,36 @@ public class Delaunay {
         return res;
     }
     
+    /**
+     * Computes the Delaunay triangulation of a point set
+     * using randomized incremental construction.
+     * 
+     * Expected running time is O(n*log(n)).
+     * 
+     * Works on the point indices only, so that
+     * no Point or Triangle objects are created.
+     * 
+     * @param p Set of points
+     * @return Delaunay triangulation as the vertex indices
+     *         of its triangles, three per triangle
+     *         (in counterclockwise order)
+     */
+    public static int[] randomizedIncremental(PointSet p) {
+        
+        // Init the DAG with the triangle that embraces the set of points
+        IndexedTriangulationDAG triangulationDAG = new IndexedTriangulationDAG(p);
+        
+        // Randomized ...
+        int[] order = randomPermutation(p.size());
+        
+        // ... and incremental
+        for (int i = 0; i < order.length; i++) {
+            triangulationDAG.insert(order[i]);
+        }
+        
+        return triangulationDAG.getTriangulation();
+    }
+    
     /**
      * Computes the Delaunay triangulation of a point set
      * by constructing some triangulation for that set
@@ -345,6 +375,33 @@ public class Delaunay {
         return new Triangle(p_1, p0, p_2);
     }
     
+    /**
+     * Fisher-Yates random shuffling algorithm
+     * applied to the identity permutation.
+     * 
+     * @param n The permutation size
+     * @return The random permutation of 0..n-1
+     */
+    private static int[] randomPermutation(int n) {
+        
+        int[] res = new int[n];
+        for (int i = 0; i < n; i++) {
+            res[i] = i;
+        }
+        
+        Random r = new Random();
+        int k, temp;
+        for (int j = n; j > 1; j--) {
+            k = r.nextInt(j);
+            
+            temp = res[k];
+            res[k] = res[j-1];
+            res[j-1] = temp;
+        }
+        
+        return res;
+    }
+    
     /**
      * Fisher-Yates random shuffling algorithm
      * (Also known as Knuth shuffling,
@@ -0,0 +1,347 @@
+package ru.dubov.delaunay;
+
+import java.util.Arrays;
+import ru.dubov.primitives.PointSet;
+import ru.dubov.primitives.Predicates;
+
+/**
+ * Represents the directed acyclic graph data structure
+ * used in the randomized incremental triangulation algorithm,
+ * with the triangles stored in plain int arrays.
+ * 
+ * Vertices are the indices into a PointSet; the three extra vertices
+ * n, n+1 and n+2 form the triangle that embraces the set of points.
+ * The ith triangle has vertices (vertices[3i], vertices[3i+1], vertices[3i+2])
+ * in counterclockwise order; its kth edge goes from the kth to the (k+1)th vertex,
+ * and adjacent[3i+k] is the triangle on the other side of that edge (or -1).
+ * The triangles that have been split or flipped have their
+ * children in the DAG stored in children[3i..3i+2] (or -1).
+ * 
+ * @author Mikhail Dubov
+ */
+public class IndexedTriangulationDAG {
+    
+    /**
+     * Initializes the DAG with the triangle
+     * that embraces the given set of points.
+     * 
+     * @param points The set of points
+     */
+    public IndexedTriangulationDAG(PointSet points) {
+        
+        this.points = points;
+        this.n = points.size();
+        
+        int capacity = 3 * (9 * n + 1);
+        vertices = new int[capacity];
+        adjacent = new int[capacity];
+        children = new int[capacity];
+        Arrays.fill(children, -1);
+        count = 0;
+        
+        // The embracing triangle
+        
+        double minX = points.getX(0), maxX = minX;
+        double minY = points.getY(0), maxY = minY;
+        for (int i = 1; i < n; i++) {
+            minX = Math.min(minX, points.getX(i));
+            maxX = Math.max(maxX, points.getX(i));
+            minY = Math.min(minY, points.getY(i));
+            maxY = Math.max(maxY, points.getY(i));
+        }
+        double cX = (minX + maxX) / 2;
+        double cY = (minY + maxY) / 2;
+        double size = Math.max(Math.max(maxX - minX, maxY - minY), 1);
+        
+        outerX = new double[] {cX - 20 * size, cX + 20 * size, cX};
+        outerY = new double[] {cY - 10 * size, cY - 10 * size, cY + 20 * size};
+        
+        newTriangle(n, n + 1, n + 2, -1, -1, -1);
+    }
+    
+    /**
+     * Inserts a point into the triangulation
+     * and legalizes the edges around it.
+     * Duplicate points are ignored.
+     * 
+     * @param p The index of the point
+     */
+    public void insert(int p) {
+        
+        int t = locate(p);
+        int t3 = 3 * t;
+        
+        double o0 = orientation(vertices[t3], vertices[t3 + 1], p);
+        double o1 = orientation(vertices[t3 + 1], vertices[t3 + 2], p);
+        double o2 = orientation(vertices[t3 + 2], vertices[t3], p);
+        
+        int zeros = (o0 == 0 ? 1 : 0) + (o1 == 0 ? 1 : 0) + (o2 == 0 ? 1 : 0);
+        
+        if (zeros == 0) {
+            splitTriangle(t, p);
+        } else if (zeros == 1) {
+            splitEdge(t, (o0 == 0 ? 0 : (o1 == 0 ? 1 : 2)), p);
+        }
+        // zeros == 2 => p coincides with a vertex
+    }
+    
+    /**
+     * Looks in the DAG for the smallest triangle
+     * containing the given point.
+     * 
+     * @param p The index of the point
+     * @return The index of the smallest triangle that contains p
+     */
+    public int locate(int p) {
+        
+        int t = 0;
+        
+        descend: while (children[3 * t] != -1) {
+            for (int k = 0; k < 3; k++) {
+                int ch = children[3 * t + k];
+                if (ch != -1 && contains(ch, p)) {
+                    t = ch;
+                    continue descend;
+                }
+            }
+            break; // Should not happen
+        }
+        
+        return t;
+    }
+    
+    /**
+     * Collects the triangles from the leafs of the DAG,
+     * except for those adjacent to the embracing triangle vertices.
+     * 
+     * @return The vertex indices of the triangles, three per triangle
+     */
+    public int[] getTriangulation() {
+        
+        int[] res = new int[3 * count];
+        int size = 0;
+        
+        for (int t = 0; t < count; t++) {
+            int t3 = 3 * t;
+            if (children[t3] == -1 &&
+                    vertices[t3] < n && vertices[t3 + 1] < n && vertices[t3 + 2] < n) {
+                res[size++] = vertices[t3];
+                res[size++] = vertices[t3 + 1];
+                res[size++] = vertices[t3 + 2];
+            }
+        }
+        
+        return Arrays.copyOf(res, size);
+    }
+    
+    /**
+     * Splits a triangle into three by a point lying in its interior.
+     */
+    private void splitTriangle(int t, int p) {
+        
+        int t3 = 3 * t;
+        int a = vertices[t3], b = vertices[t3 + 1], c = vertices[t3 + 2];
+        int adjAB = adjacent[t3], adjBC = adjacent[t3 + 1], adjCA = adjacent[t3 + 2];
+        
+        int t1 = newTriangle(p, a, b, -1, adjAB, -1);
+        int t2 = newTriangle(p, b, c, t1, adjBC, -1);
+        int t3new = newTriangle(p, c, a, t2, adjCA, t1);
+        adjacent[3 * t1] = t3new;
+        adjacent[3 * t1 + 2] = t2;
+        adjacent[3 * t2 + 2] = t3new;
+        
+        replaceAdjacent(adjAB, t, t1);
+        replaceAdjacent(adjBC, t, t2);
+        replaceAdjacent(adjCA, t, t3new);
+        
+        children[t3] = t1;
+        children[t3 + 1] = t2;
+        children[t3 + 2] = t3new;
+        
+        legalizeEdge(t1);
+        legalizeEdge(t2);
+        legalizeEdge(t3new);
+    }
+    
+    /**
+     * Splits the two triangles sharing the kth edge of the triangle t
+     * into four by a point lying on that edge.
+     */
+    private void splitEdge(int t, int k, int p) {
+        
+        int t3 = 3 * t;
+        int a = vertices[t3 + k], b = vertices[t3 + (k + 1) % 3], c = vertices[t3 + (k + 2) % 3];
+        int adjBC = adjacent[t3 + (k + 1) % 3], adjCA = adjacent[t3 + (k + 2) % 3];
+        
+        int u = adjacent[t3 + k];
+        int u3 = 3 * u;
+        int j = edgeIndex(u, b, a);
+        int d = vertices[u3 + (j + 2) % 3];
+        int adjAD = adjacent[u3 + (j + 1) % 3], adjDB = adjacent[u3 + (j + 2) % 3];
+        
+        int t1 = newTriangle(p, b, c, -1, adjBC, -1);
+        int t2 = newTriangle(p, c, a, t1, adjCA, -1);
+        int t3new = newTriangle(p, a, d, t2, adjAD, -1);
+        int t4 = newTriangle(p, d, b, t3new, adjDB, t1);
+        adjacent[3 * t1] = t4;
+        adjacent[3 * t1 + 2] = t2;
+        adjacent[3 * t2 + 2] = t3new;
+        adjacent[3 * t3new + 2] = t4;
+        
+        replaceAdjacent(adjBC, t, t1);
+        replaceAdjacent(adjCA, t, t2);
+        replaceAdjacent(adjAD, u, t3new);
+        replaceAdjacent(adjDB, u, t4);
+        
+        children[t3] = t1;
+        children[t3 + 1] = t2;
+        children[u3] = t3new;
+        children[u3 + 1] = t4;
+        
+        legalizeEdge(t1);
+        legalizeEdge(t2);
+        legalizeEdge(t3new);
+        legalizeEdge(t4);
+    }
+    
+    /**
+     * A helper procedure that "legalizes" the edge of the triangle t
+     * lying opposite to the point just inserted (which is always
+     * the 0th vertex of t, so the edge is the 1st one).
+     * 
+     * See the "LegalizeEdge" algorithm
+     * in [deBerg] (section 9.3) for details.
+     */
+    private void legalizeEdge(int t) {
+        
+        int t3 = 3 * t;
+        int u = adjacent[t3 + 1];
+        
+        if (u == -1) {
+            return;
+        }
+        
+        int p = vertices[t3], a = vertices[t3 + 1], b = vertices[t3 + 2];
+        int u3 = 3 * u;
+        int j = edgeIndex(u, b, a);
+        int d = vertices[u3 + (j + 2) % 3];
+        
+        if (! inCircle(p, a, b, d)) {
+            return;
+        }
+        
+        // Flip edge (a, b) to (p, d)
+        int adjPA = adjacent[t3], adjBP = adjacent[t3 + 2];
+        int adjAD = adjacent[u3 + (j + 1) % 3], adjDB = adjacent[u3 + (j + 2) % 3];
+        
+        int t1 = newTriangle(p, a, d, adjPA, adjAD, -1);
+        int t2 = newTriangle(p, d, b, t1, adjDB, adjBP);
+        adjacent[3 * t1 + 2] = t2;
+        
+        replaceAdjacent(adjPA, t, t1);
+        replaceAdjacent(adjBP, t, t2);
+        replaceAdjacent(adjAD, u, t1);
+        replaceAdjacent(adjDB, u, t2);
+        
+        // Updating the DAG
+        children[t3] = t1;
+        children[t3 + 1] = t2;
+        children[u3] = t1;
+        children[u3 + 1] = t2;
+        
+        // Recursive calls
+        legalizeEdge(t1);
+        legalizeEdge(t2);
+    }
+    
+    private int newTriangle(int a, int b, int c, int adjAB, int adjBC, int adjCA) {
+        
+        if (3 * count == vertices.length) {
+            int capacity = 2 * vertices.length;
+            vertices = Arrays.copyOf(vertices, capacity);
+            adjacent = Arrays.copyOf(adjacent, capacity);
+            children = Arrays.copyOf(children, capacity);
+            Arrays.fill(children, 3 * count, capacity, -1);
+        }
+        
+        int t3 = 3 * count;
+        vertices[t3] = a;
+        vertices[t3 + 1] = b;
+        vertices[t3 + 2] = c;
+        adjacent[t3] = adjAB;
+        adjacent[t3 + 1] = adjBC;
+        adjacent[t3 + 2] = adjCA;
+        
+        return count++;
+    }
+    
+    /**
+     * Makes the triangle t point to newT instead of oldT.
+     */
+    private void replaceAdjacent(int t, int oldT, int newT) {
+        if (t != -1) {
+            for (int k = 3 * t; k < 3 * t + 3; k++) {
+                if (adjacent[k] == oldT) {
+                    adjacent[k] = newT;
+                    return;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Returns the index of the edge (a, b) in the triangle t.
+     */
+    private int edgeIndex(int t, int a, int b) {
+        for (int k = 0; k < 3; k++) {
+            if (vertices[3 * t + k] == a && vertices[3 * t + (k + 1) % 3] == b) {
+                return k;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Determines whether a point lies inside
+     * the triangle t or on its boundary.
+     */
+    private boolean contains(int t, int p) {
+        int t3 = 3 * t;
+        return orientation(vertices[t3], vertices[t3 + 1], p) >= 0 &&
+               orientation(vertices[t3 + 1], vertices[t3 + 2], p) >= 0 &&
+               orientation(vertices[t3 + 2], vertices[t3], p) >= 0;
+    }
+    
+    /**
+     * Calculates the cross product of two vectors (p0, p1) and (p0, p2).
+     */
+    private double orientation(int p0, int p1, int p2) {
+        return Predicates.orient2d(x(p0), y(p0), x(p1), y(p1), x(p2), y(p2));
+    }
+    
+    /**
+     * Determines whether d lies inside the circle
+     * passing through a, b and c (given in CCW order).
+     */
+    private boolean inCircle(int a, int b, int c, int d) {
+        return Predicates.incircle(x(a), y(a), x(b), y(b), x(c), y(c), x(d), y(d)) > 0;
+    }
+    
+    private double x(int i) {
+        return (i < n ? points.getX(i) : outerX[i - n]);
+    }
+    
+    private double y(int i) {
+        return (i < n ? points.getY(i) : outerY[i - n]);
+    }
+    
+    private final PointSet points;
+    private final int n;
+    
+    /** The vertices of the embracing triangle **/
+    private final double[] outerX, outerY;
+    
+    /** The triangles **/
+    private int[] vertices, adjacent, children;
+    private int count;
+}
@@ -6,6 +6,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Stack;
 import ru.dubov.primitives.Point;
+import ru.dubov.primitives.Predicates;
 import ru.dubov.primitives.Triangle;
 
 
@@ -123,8 +124,7 @@ public class PointsTriangulation {
     }
     
     private static double crossProduct(Point p0, Point p1, Point p2) {
-        return (p1.getX() - p0.getX()) * (p2.getY() - p0.getY()) -
-                (p2.getX() - p0.getX()) * (p1.getY() - p0.getY());
+        return Predicates.orient2d(p0, p1, p2);
     }
     
     private static boolean isRightTurn(Point p0, Point p1, Point p2) {
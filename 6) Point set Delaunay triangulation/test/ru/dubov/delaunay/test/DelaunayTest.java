@@ -42,6 +42,36 @@ public class DelaunayTest extends TestCase {
     }
     
     
+    /**
+     * Test of randomizedIncremental algorithm on a point set:
+     * no point may lie inside the circumcircle of any triangle.
+     */
+    public void testRandomizedIncrementalPointSet() {
+        
+        Random rand = new Random();
+        
+        for (int n = 3; n <= 200; n += 7) {
+            
+            PointSet pts = new PointSet();
+            for (int j = 0; j < n; j++) {
+                pts.add(rand.nextInt(100), rand.nextInt(100)); // with collinear and duplicate points
+            }
+            
+            int[] triang = Delaunay.randomizedIncremental(pts);
+            
+            assertTrue(triang.length > 0);
+            
+            for (int t = 0; t < triang.length; t += 3) {
+                Circle cr = new Circle(pts.get(triang[t]),
+                                       pts.get(triang[t+1]),
+                                       pts.get(triang[t+2]));
+                for (int i = 0; i < pts.size(); i++) {
+                    assertFalse(cr.getCenter().dist(pts.get(i)) < cr.getRadius() - 1e-9);
+                }
+            }
+        }
+    }
+    
     public void testTimeBruteForce() {
         
         Random rand = new Random();
@@ -0,0 +1,197 @@
+package ru.dubov.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+import ru.dubov.primitives.*;
+
+/**
+ * Generates the input data for the benchmarks.
+ * All the data lies in the unit square and is
+ * reproducible for the given size and distribution.
+ * 
+ * @author Mikhail Dubov
+ */
+public class BenchmarkData {
+    
+    /**
+     * The distributions of the generated points.
+     */
+    public enum Distribution {
+        
+        /** Uniform in the unit square **/
+        UNIFORM,
+        
+        /** Gaussian clusters around 16 random centers **/
+        CLUSTERED,
+        
+        /** On the circle inscribed into the unit square **/
+        CIRCLE,
+        
+        /** Exactly on the line y = x/2 **/
+        COLLINEAR,
+        
+        /** Exactly on the vertical line x = 1/2 **/
+        VERTICAL,
+        
+        /** On the nodes of a square grid **/
+        GRID,
+        
+        /** Uniform in the disk inscribed into the unit square **/
+        DISK
+    }
+    
+    /**
+     * Generates a set of points.
+     * 
+     * @param d The distribution
+     * @param n The number of points
+     * @return The point set
+     */
+    public static PointSet pointSet(Distribution d, int n) {
+        
+        Random rand = new Random(SEED);
+        PointSet res = new PointSet(n);
+        
+        double[] centers = new double[2 * CLUSTERS];
+        for (int i = 0; i < centers.length; i++) {
+            centers[i] = 0.1 + 0.8 * rand.nextDouble();
+        }
+        
+        int side = (int)Math.ceil(Math.sqrt(n));
+        
+        for (int i = 0; i < n; i++) {
+            switch (d) {
+                case UNIFORM:
+                    res.add(rand.nextDouble(), rand.nextDouble());
+                    break;
+                case CLUSTERED:
+                    int k = rand.nextInt(CLUSTERS);
+                    res.add(centers[2*k] + 0.02 * rand.nextGaussian(),
+                            centers[2*k+1] + 0.02 * rand.nextGaussian());
+                    break;
+                case CIRCLE:
+                    double angle = 2 * Math.PI * rand.nextDouble();
+                    res.add(0.5 + 0.5 * Math.cos(angle), 0.5 + 0.5 * Math.sin(angle));
+                    break;
+                case COLLINEAR:
+                    double t = rand.nextDouble();
+                    res.add(t, 0.5 * t);
+                    break;
+                case VERTICAL:
+                    res.add(0.5, rand.nextDouble());
+                    break;
+                case GRID:
+                    res.add((double)(i % side) / side, (double)(i / side) / side);
+                    break;
+                case DISK:
+                    double r = 0.5 * Math.sqrt(rand.nextDouble());
+                    double phi = 2 * Math.PI * rand.nextDouble();
+                    res.add(0.5 + r * Math.cos(phi), 0.5 + r * Math.sin(phi));
+                    break;
+            }
+        }
+        
+        return res;
+    }
+    
+    /**
+     * Generates a list of points.
+     * 
+     * @param d The distribution
+     * @param n The number of points
+     * @return The list of points
+     */
+    public static ArrayList<Point> points(Distribution d, int n) {
+        
+        PointSet ps = pointSet(d, n);
+        ArrayList<Point> res = new ArrayList<Point>(n);
+        for (int i = 0; i < n; i++) {
+            res.add(ps.get(i));
+        }
+        
+        return res;
+    }
+    
+    /**
+     * Generates a simple (star-shaped) polygon
+     * by sorting the points by their polar angle around the center.
+     * 
+     * @param d The distribution (should not be COLLINEAR)
+     * @param n The number of vertices
+     * @return The polygon
+     */
+    public static Polygon polygon(Distribution d, int n) {
+        
+        ArrayList<Point> points = points(d, n);
+        final Point center = new Point(0.5, 0.5);
+        
+        Collections.sort(points, new Comparator<Point>() {
+            
+            @Override
+            public int compare(Point p1, Point p2) {
+                return Double.compare(
+                        Math.atan2(p1.getY() - center.getY(), p1.getX() - center.getX()),
+                        Math.atan2(p2.getY() - center.getY(), p2.getX() - center.getX()));
+            }
+        });
+        
+        return new Polygon(points);
+    }
+    
+    /**
+     * Generates a set of disjoint segments: a horizontal segment
+     * of random length starts at each point.
+     * 
+     * @param d The distribution
+     * @param n The number of segments
+     * @return The list of segments
+     */
+    public static ArrayList<Segment> segments(Distribution d, int n) {
+        
+        Random rand = new Random(SEED);
+        ArrayList<Point> points = points(d, n);
+        ArrayList<Segment> res = new ArrayList<Segment>(n);
+        
+        for (Point p : points) {
+            res.add(new Segment(p, new Point(p.getX() + 0.1 * rand.nextDouble(), p.getY())));
+        }
+        
+        return res;
+    }
+    
+    /**
+     * Generates a set of halfplanes whose intersection
+     * is the Voronoi cell of the center of the unit square
+     * (bounded by a rectangle).
+     * 
+     * @param d The distribution
+     * @param n The number of halfplanes (except for the bounding ones)
+     * @return The list of halfplanes
+     */
+    public static ArrayList<Halfplane> halfplanes(Distribution d, int n) {
+        
+        ArrayList<Halfplane> res = Halfplane.boundingRectangle(-10, 10, -10, 10);
+        Point p1 = new Point(0.5, 0.5);
+        
+        for (Point p2 : points(d, n)) {
+            
+            if (! p1.equals(p2)) {
+                
+                Segment p1p2 = new Segment(new Point(p1.getX(), p1.getY()), p2);
+                Line p1p2perp = p1p2.getLine().getPerpendicularLine
+                                    (p1p2.getBisectionalPoint());
+                
+                res.add(new Halfplane(p1p2perp, p2.getX() < p1.getX() ||
+                                                p2.getX() == p1.getX() &&
+                                                p2.getY() > p1.getY()));
+            }
+        }
+        
+        return res;
+    }
+    
+    private static final long SEED = 42;
+    private static final int CLUSTERS = 16;
+}
@@ -0,0 +1,44 @@
+package ru.dubov.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the usual JMH command line options,
+ * writing the results as JSON to "jmh-result.json"
+ * unless another format or file is specified (-rf, -rff).
+ * 
+ * Example: run the closest pair benchmarks on uniform points only
+ * 
+ *     BenchmarkRunner ClosestPair -p distribution=UNIFORM
+ * 
+ * @author Mikhail Dubov
+ */
+public class BenchmarkRunner {
+    
+    public static void main(String[] args) throws Exception {
+        
+        CommandLineOptions cmdOptions = new CommandLineOptions(args);
+        
+        if (cmdOptions.shouldHelp() || cmdOptions.shouldList() ||
+                cmdOptions.shouldListWithParams() || cmdOptions.shouldListProfilers() ||
+                cmdOptions.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+        
+        Options options = new OptionsBuilder()
+                .parent(cmdOptions)
+                .resultFormat(cmdOptions.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(cmdOptions.getResult().orElse(RESULT_FILE))
+                .build();
+        
+        new Runner(options).run();
+    }
+    
+    private static final String RESULT_FILE = "jmh-result.json";
+}
@@ -0,0 +1,79 @@
+package ru.dubov.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.dubov.closestpair.ClosestPair;
+import ru.dubov.primitives.Point;
+import ru.dubov.primitives.PointSet;
+
+/**
+ * Benchmarks the "divide and conquer" closest pair algorithm (project 4)
+ * on lists of points and on point sets, the randomized
+ * grid algorithm on point sets, and the all-nearest-neighbours
+ * and k closest pairs (k = n) queries.
+ * 
+ * @author Mikhail Dubov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClosestPairBenchmark {
+    
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int size;
+    
+    @Param({"UNIFORM", "CLUSTERED", "CIRCLE", "COLLINEAR"})
+    public BenchmarkData.Distribution distribution;
+    
+    @Setup
+    public void setUp() {
+        points = BenchmarkData.points(distribution, size);
+        pointSet = BenchmarkData.pointSet(distribution, size);
+    }
+    
+    @Benchmark
+    public ArrayList<Point> fast() {
+        return ClosestPair.Fast(points);
+    }
+    
+    @Benchmark
+    public int[] fastPointSet() {
+        return ClosestPair.Fast(pointSet);
+    }
+    
+    @Benchmark
+    public int[] randomizedPointSet() {
+        return ClosestPair.Randomized(pointSet, new Random(42));
+    }
+    
+    @Benchmark
+    public void allNearestNeighbours(final Blackhole bh) {
+        ClosestPair.AllNearestNeighbours(pointSet, new ClosestPair.PairConsumer() {
+            
+            @Override
+            public void accept(int p, int q, double dist) {
+                bh.consume(q);
+            }
+        });
+    }
+    
+    @Benchmark
+    public void kClosestPairs(final Blackhole bh) {
+        ClosestPair.KClosestPairs(pointSet, size, new ClosestPair.PairConsumer() {
+            
+            @Override
+            public void accept(int p, int q, double dist) {
+                bh.consume(dist);
+            }
+        });
+    }
+    
+    private ArrayList<Point> points;
+    private PointSet pointSet;
+}
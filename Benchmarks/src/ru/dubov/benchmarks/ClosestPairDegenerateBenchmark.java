@@ -0,0 +1,50 @@
+package ru.dubov.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import ru.dubov.closestpair.ClosestPair;
+import ru.dubov.primitives.Point;
+import ru.dubov.primitives.PointSet;
+
+/**
+ * Benchmarks the "divide and conquer" closest pair algorithm (project 4)
+ * on the inputs with many equal X coordinates: points on a vertical line
+ * and on a square grid. The time per point should grow as log(n),
+ * since the points are split by their rank in the (x, y) order.
+ * 
+ * @author Mikhail Dubov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClosestPairDegenerateBenchmark {
+    
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+    
+    @Param({"VERTICAL", "GRID"})
+    public BenchmarkData.Distribution distribution;
+    
+    @Setup
+    public void setUp() {
+        points = BenchmarkData.points(distribution, size);
+        pointSet = BenchmarkData.pointSet(distribution, size);
+    }
+    
+    @Benchmark
+    public ArrayList<Point> fast() {
+        return ClosestPair.Fast(points);
+    }
+    
+    @Benchmark
+    public int[] fastPointSet() {
+        return ClosestPair.Fast(pointSet);
+    }
+    
+    private ArrayList<Point> points;
+    private PointSet pointSet;
+}
@@ -0,0 +1,39 @@
+package ru.dubov.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import ru.dubov.closestpair.ClosestPair;
+import ru.dubov.primitives.Point;
+
+/**
+ * Benchmarks the naive O(n^2) closest pair algorithm (project 4).
+ * 
+ * @author Mikhail Dubov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClosestPairNaiveBenchmark {
+    
+    @Param({"100", "1000", "10000"})
+    public int size;
+    
+    @Param({"UNIFORM", "CLUSTERED", "CIRCLE", "COLLINEAR"})
+    public BenchmarkData.Distribution distribution;
+    
+    @Setup
+    public void setUp() {
+        points = BenchmarkData.points(distribution, size);
+    }
+    
+    @Benchmark
+    public ArrayList<Point> naive() {
+        return ClosestPair.Naive(points);
+    }
+    
+    private ArrayList<Point> points;
+}
@@ -0,0 +1,48 @@
+package ru.dubov.benchmarks;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import ru.dubov.closestpair.ClosestPair;
+import ru.dubov.primitives.PointSet;
+
+/**
+ * Measures how the parallel "divide and conquer" closest pair
+ * algorithm (project 4) scales with the number of threads
+ * in the fork-join pool.
+ * 
+ * @author Mikhail Dubov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClosestPairScalingBenchmark {
+    
+    @Param({"1", "2", "4", "8", "16"})
+    public int threads;
+    
+    @Param({"1000000", "10000000"})
+    public int size;
+    
+    @Setup
+    public void setUp() {
+        pointSet = BenchmarkData.pointSet(BenchmarkData.Distribution.UNIFORM, size);
+        pool = new ForkJoinPool(threads);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+    
+    @Benchmark
+    public int[] fastParallel() {
+        return ClosestPair.FastParallel(pointSet, pool);
+    }
+    
+    private PointSet pointSet;
+    private ForkJoinPool pool;
+}
@@ -0,0 +1,33 @@
+package ru.dubov.benchmarks;
+
+import ru.dubov.delaunay.Delaunay;
+import ru.dubov.primitives.PointSet;
+
+/**
+ * A minimal program that triangulates a set of points
+ * right after the JVM has started; used by StartupBenchmark.
+ * 
+ * Usage: ColdStart [headless|swing] [number of points]
+ * 
+ * In the "swing" mode, the JFrame class is loaded before
+ * the triangulation (a synthetic approximation, see StartupBenchmark).
+ * 
+ * @author Mikhail Dubov
+ */
+public class ColdStart {
+    
+    public static void main(String[] args) throws Exception {
+        
+        String mode = (args.length > 0 ? args[0] : "headless");
+        int n = (args.length > 1 ? Integer.parseInt(args[1]) : 1000);
+        
+        if ("swing".equals(mode)) {
+            Class.forName("javax.swing.JFrame");
+        }
+        
+        PointSet points = BenchmarkData.pointSet(BenchmarkData.Distribution.UNIFORM, n);
+        int[] triangles = Delaunay.randomizedIncremental(points);
+        
+        System.out.println(triangles.length / 3);
+    }
+}
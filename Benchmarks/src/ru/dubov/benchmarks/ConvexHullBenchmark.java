@@ -0,0 +1,78 @@
+package ru.dubov.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import ru.dubov.convexhull.ConvexHull;
+import ru.dubov.primitives.Point;
+import ru.dubov.primitives.PointSet;
+import ru.dubov.primitives.Polygon;
+
+/**
+ * Benchmarks the Graham's scan (sequential and in parallel),
+ * the Andrew's monotone chain and the Chan's algorithm (project 3)
+ * on lists of points and on point sets.
+ * The COLLINEAR distribution is not included by default,
+ * since the list-based implementation assumes
+ * that not all the points are collinear.
+ * 
+ * @author Mikhail Dubov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConvexHullBenchmark {
+    
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int size;
+    
+    @Param({"UNIFORM", "CLUSTERED", "CIRCLE"})
+    public BenchmarkData.Distribution distribution;
+    
+    @Setup
+    public void setUp() {
+        points = BenchmarkData.points(distribution, size);
+        pointSet = BenchmarkData.pointSet(distribution, size);
+    }
+    
+    @Benchmark
+    public Polygon graham() {
+        return ConvexHull.Graham(points);
+    }
+    
+    @Benchmark
+    public int[] grahamPointSet() {
+        return ConvexHull.Graham(pointSet);
+    }
+    
+    @Benchmark
+    public int[] grahamParallel() {
+        return ConvexHull.GrahamParallel(pointSet);
+    }
+    
+    @Benchmark
+    public Polygon monotoneChain() {
+        return ConvexHull.MonotoneChain(points);
+    }
+    
+    @Benchmark
+    public int[] monotoneChainPointSet() {
+        return ConvexHull.MonotoneChain(pointSet);
+    }
+    
+    @Benchmark
+    public Polygon chan() {
+        return ConvexHull.Chan(points);
+    }
+    
+    @Benchmark
+    public int[] chanPointSet() {
+        return ConvexHull.Chan(pointSet);
+    }
+    
+    private ArrayList<Point> points;
+    private PointSet pointSet;
+}
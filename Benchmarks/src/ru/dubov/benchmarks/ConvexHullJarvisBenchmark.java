@@ -0,0 +1,41 @@
+package ru.dubov.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import ru.dubov.convexhull.ConvexHull;
+import ru.dubov.primitives.Point;
+import ru.dubov.primitives.Polygon;
+
+/**
+ * Benchmarks the Jarvis' march (project 3), which runs in O(n*h),
+ * so the sizes are limited by the CIRCLE distribution (h = n).
+ * 
+ * @author Mikhail Dubov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConvexHullJarvisBenchmark {
+    
+    @Param({"100", "1000", "10000"})
+    public int size;
+    
+    @Param({"UNIFORM", "CLUSTERED", "CIRCLE"})
+    public BenchmarkData.Distribution distribution;
+    
+    @Setup
+    public void setUp() {
+        points = BenchmarkData.points(distribution, size);
+    }
+    
+    @Benchmark
+    public Polygon jarvis() {
+        return ConvexHull.Jarvis(points);
+    }
+    
+    private ArrayList<Point> points;
+}
@@ -0,0 +1,67 @@
+package ru.dubov.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import ru.dubov.convexhull.ConvexHull;
+import ru.dubov.primitives.Point;
+import ru.dubov.primitives.PointSet;
+import ru.dubov.primitives.Polygon;
+
+/**
+ * Benchmarks the Akl-Toussaint heuristic (project 3) alone
+ * and the Graham's scan and the Jarvis' march that use it,
+ * on points uniform in a square and in a disk.
+ * 
+ * The fraction of the points discarded by the heuristic
+ * is printed when the data is generated.
+ * 
+ * @author Mikhail Dubov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConvexHullPrefilterBenchmark {
+    
+    @Param({"10000", "1000000"})
+    public int size;
+    
+    @Param({"UNIFORM", "DISK"})
+    public BenchmarkData.Distribution distribution;
+    
+    @Setup
+    public void setUp() {
+        points = BenchmarkData.points(distribution, size);
+        pointSet = BenchmarkData.pointSet(distribution, size);
+        
+        int remaining = ConvexHull.AklToussaint(pointSet).length;
+        System.out.printf("Akl-Toussaint discards %.2f%% of the points (%d remain)%n",
+                          100.0 * (size - remaining) / size, remaining);
+    }
+    
+    @Benchmark
+    public int[] aklToussaint() {
+        return ConvexHull.AklToussaint(pointSet);
+    }
+    
+    @Benchmark
+    public Polygon graham() {
+        return ConvexHull.Graham(points);
+    }
+    
+    @Benchmark
+    public int[] grahamPointSet() {
+        return ConvexHull.Graham(pointSet);
+    }
+    
+    @Benchmark
+    public Polygon jarvis() {
+        return ConvexHull.Jarvis(points);
+    }
+    
+    private ArrayList<Point> points;
+    private PointSet pointSet;
+}
@@ -0,0 +1,90 @@
+package ru.dubov.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import ru.dubov.convexhull.ConvexHull;
+import ru.dubov.convexhull.ConvexPolygonLocator;
+import ru.dubov.primitives.Polygon;
+
+/**
+ * Measures the point-in-convex-polygon queries against the convex hull
+ * (project 3) of a point set: "locator" answers them with
+ * ConvexPolygonLocator (in sequence and in parallel), and "naive" checks
+ * each query point against every edge of the hull.
+ * 
+ * @author Mikhail Dubov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConvexPolygonLocatorBenchmark {
+    
+    @Param({"1000", "100000"})
+    public int size;
+    
+    @Param({"UNIFORM", "CIRCLE"})
+    public BenchmarkData.Distribution distribution;
+    
+    @Setup
+    public void setUp() {
+        Polygon hull = ConvexHull.Graham(BenchmarkData.points(distribution, size));
+        locator = new ConvexPolygonLocator(hull);
+        
+        h = hull.size();
+        hullX = new double[h];
+        hullY = new double[h];
+        for (int i = 0; i < h; i++) {
+            hullX[i] = hull.get(i).getX();
+            hullY[i] = hull.get(i).getY();
+        }
+        
+        Random rand = new Random(42);
+        queryX = new double[QUERIES];
+        queryY = new double[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queryX[i] = rand.nextDouble();
+            queryY[i] = rand.nextDouble();
+        }
+    }
+    
+    @Benchmark
+    public boolean[] locator() {
+        return locator.contains(queryX, queryY);
+    }
+    
+    @Benchmark
+    public boolean[] locatorParallel() {
+        return locator.containsParallel(queryX, queryY);
+    }
+    
+    @Benchmark
+    public boolean[] naive() {
+        boolean[] result = new boolean[QUERIES];
+        
+        for (int q = 0; q < QUERIES; q++) {
+            double x = queryX[q], y = queryY[q];
+            boolean inside = true;
+            for (int i = 0, j = h - 1; i < h; j = i++) {
+                if ((hullX[i] - hullX[j]) * (y - hullY[j]) -
+                    (x - hullX[j]) * (hullY[i] - hullY[j]) < 0) {
+                    inside = false;
+                    break;
+                }
+            }
+            result[q] = inside;
+        }
+        
+        return result;
+    }
+    
+    private ConvexPolygonLocator locator;
+    private double[] hullX, hullY;
+    private int h;
+    private double[] queryX, queryY;
+    
+    private static final int QUERIES = 100000;
+}
@@ -0,0 +1,39 @@
+package ru.dubov.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import ru.dubov.delaunay.Delaunay;
+import ru.dubov.primitives.PointSet;
+
+/**
+ * Benchmarks the randomized incremental Delaunay triangulation (project 6)
+ * on point sets.
+ * 
+ * @author Mikhail Dubov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DelaunayBenchmark {
+    
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int size;
+    
+    @Param({"UNIFORM", "CLUSTERED", "CIRCLE", "COLLINEAR"})
+    public BenchmarkData.Distribution distribution;
+    
+    @Setup
+    public void setUp() {
+        pointSet = BenchmarkData.pointSet(distribution, size);
+    }
+    
+    @Benchmark
+    public int[] randomizedIncrementalPointSet() {
+        return Delaunay.randomizedIncremental(pointSet);
+    }
+    
+    private PointSet pointSet;
+}
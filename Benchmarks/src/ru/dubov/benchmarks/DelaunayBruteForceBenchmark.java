@@ -0,0 +1,41 @@
+package ru.dubov.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import ru.dubov.delaunay.Delaunay;
+import ru.dubov.primitives.Point;
+import ru.dubov.primitives.Triangle;
+
+/**
+ * Benchmarks the O(n^3) edge flipping Delaunay triangulation (project 6).
+ * The algorithm changes the list of points, so it works on a copy.
+ * 
+ * @author Mikhail Dubov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DelaunayBruteForceBenchmark {
+    
+    @Param({"10", "30", "100"})
+    public int size;
+    
+    @Param({"UNIFORM", "CLUSTERED", "CIRCLE"})
+    public BenchmarkData.Distribution distribution;
+    
+    @Setup
+    public void setUp() {
+        points = BenchmarkData.points(distribution, size);
+    }
+    
+    @Benchmark
+    public ArrayList<Triangle> bruteForce() {
+        return Delaunay.bruteForce(new ArrayList<Point>(points));
+    }
+    
+    private ArrayList<Point> points;
+}
@@ -0,0 +1,42 @@
+package ru.dubov.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import ru.dubov.delaunay.Delaunay;
+import ru.dubov.primitives.Point;
+import ru.dubov.primitives.Triangle;
+
+/**
+ * Benchmarks the randomized incremental Delaunay triangulation (project 6)
+ * on lists of points. The list-based implementation removes points
+ * from the head of an ArrayList, so the sizes are limited as for O(n^2).
+ * 
+ * @author Mikhail Dubov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DelaunayListBenchmark {
+    
+    @Param({"100", "1000", "10000"})
+    public int size;
+    
+    @Param({"UNIFORM", "CLUSTERED", "CIRCLE"})
+    public BenchmarkData.Distribution distribution;
+    
+    @Setup
+    public void setUp() {
+        points = BenchmarkData.points(distribution, size);
+    }
+    
+    @Benchmark
+    public ArrayList<Triangle> randomizedIncremental() {
+        return Delaunay.randomizedIncremental(points);
+    }
+    
+    private ArrayList<Point> points;
+}
@@ -0,0 +1,81 @@
+package ru.dubov.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import ru.dubov.closestpair.ClosestPair;
+import ru.dubov.closestpair.DynamicClosestPair;
+import ru.dubov.primitives.PointSet;
+
+/**
+ * Measures the cost of keeping the closest pair (project 4) up to date
+ * while the points move: each operation moves a random point a little
+ * and gets the new closest pair, either from DynamicClosestPair
+ * (a deletion and an insertion) or by rerunning ClosestPair.Fast.
+ *
+ * @author Mikhail Dubov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DynamicClosestPairBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    @Param({"UNIFORM", "CLUSTERED"})
+    public BenchmarkData.Distribution distribution;
+
+    @Setup
+    public void setUp() {
+        PointSet points = BenchmarkData.pointSet(distribution, size);
+
+        xs = new double[size];
+        ys = new double[size];
+        ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            xs[i] = points.getX(i);
+            ys[i] = points.getY(i);
+            ids[i] = i;
+        }
+
+        // The arrays are changed by the "fast" benchmark between the runs
+        pointSet = new PointSet(xs, ys);
+        dynamic = new DynamicClosestPair(points);
+        rand = new Random(42);
+    }
+
+    @Benchmark
+    public int[] dynamic() {
+        int i = rand.nextInt(size);
+        int p = ids[i];
+
+        double x = dynamic.getX(p) + STEP * rand.nextGaussian();
+        double y = dynamic.getY(p) + STEP * rand.nextGaussian();
+        dynamic.delete(p);
+        ids[i] = dynamic.insert(x, y);
+
+        return dynamic.closestPair();
+    }
+
+    @Benchmark
+    public int[] fast() {
+        int i = rand.nextInt(size);
+
+        xs[i] += STEP * rand.nextGaussian();
+        ys[i] += STEP * rand.nextGaussian();
+
+        return ClosestPair.Fast(pointSet);
+    }
+
+    private double[] xs, ys;
+    private int[] ids;
+    private PointSet pointSet;
+    private DynamicClosestPair dynamic;
+    private Random rand;
+
+    private static final double STEP = 1e-3;
+}
@@ -0,0 +1,81 @@
+package ru.dubov.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import ru.dubov.convexhull.ConvexHull;
+import ru.dubov.convexhull.DynamicConvexHull;
+import ru.dubov.primitives.PointSet;
+
+/**
+ * Measures the cost of keeping the convex hull (project 3) up to date
+ * while the points move: each operation moves a random point a little
+ * and gets the new hull, either from DynamicConvexHull
+ * (a deletion and an insertion) or by rerunning ConvexHull.Graham.
+ *
+ * @author Mikhail Dubov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DynamicConvexHullBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    @Param({"UNIFORM", "CLUSTERED"})
+    public BenchmarkData.Distribution distribution;
+
+    @Setup
+    public void setUp() {
+        PointSet points = BenchmarkData.pointSet(distribution, size);
+
+        xs = new double[size];
+        ys = new double[size];
+        ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            xs[i] = points.getX(i);
+            ys[i] = points.getY(i);
+            ids[i] = i;
+        }
+
+        // The arrays are changed by the "graham" benchmark between the runs
+        pointSet = new PointSet(xs, ys);
+        dynamic = new DynamicConvexHull(points);
+        rand = new Random(42);
+    }
+
+    @Benchmark
+    public int[] dynamic() {
+        int i = rand.nextInt(size);
+        int p = ids[i];
+
+        double x = dynamic.getX(p) + STEP * rand.nextGaussian();
+        double y = dynamic.getY(p) + STEP * rand.nextGaussian();
+        dynamic.delete(p);
+        ids[i] = dynamic.insert(x, y);
+
+        return dynamic.hull();
+    }
+
+    @Benchmark
+    public int[] graham() {
+        int i = rand.nextInt(size);
+
+        xs[i] += STEP * rand.nextGaussian();
+        ys[i] += STEP * rand.nextGaussian();
+
+        return ConvexHull.Graham(pointSet);
+    }
+
+    private double[] xs, ys;
+    private int[] ids;
+    private PointSet pointSet;
+    private DynamicConvexHull dynamic;
+    private Random rand;
+
+    private static final double STEP = 1e-3;
+}
@@ -0,0 +1,41 @@
+package ru.dubov.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import ru.dubov.halfplanes.HalfplanesIntersection;
+import ru.dubov.primitives.Halfplane;
+import ru.dubov.primitives.Polygon;
+
+/**
+ * Benchmarks the naive O(n^2) halfplanes intersection (project 7)
+ * on the halfplanes that form a Voronoi cell.
+ * 
+ * @author Mikhail Dubov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HalfplanesIntersectionBenchmark {
+    
+    @Param({"100", "1000", "10000"})
+    public int size;
+    
+    @Param({"UNIFORM", "CLUSTERED", "CIRCLE"})
+    public BenchmarkData.Distribution distribution;
+    
+    @Setup
+    public void setUp() {
+        halfplanes = BenchmarkData.halfplanes(distribution, size);
+    }
+    
+    @Benchmark
+    public Polygon intersectHalfplanesNaive() {
+        return HalfplanesIntersection.intersectHalfplanes_Naive(new ArrayList<Halfplane>(halfplanes));
+    }
+    
+    private ArrayList<Halfplane> halfplanes;
+}
@@ -0,0 +1,110 @@
+package ru.dubov.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.dubov.primitives.Line;
+import ru.dubov.primitives.Point;
+import ru.dubov.primitives.Predicates;
+import ru.dubov.primitives.Triangle;
+
+/**
+ * Compares the original in-circle test via the circle center
+ * and radius (two Lines, a Point and two square roots per test)
+ * with the determinant-based test on raw coordinates,
+ * as used by Triangle.areIllegal().
+ * 
+ * Circle.isInside() itself uses the in-circle determinant now,
+ * so the center/radius test is reproduced here as it was.
+ * 
+ * Run with "-prof gc" to see the allocation rate per operation
+ * (gc.alloc.rate.norm), which is zero for the determinant-based tests.
+ * 
+ * @author Mikhail Dubov
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InCircleBenchmark {
+    
+    @Setup
+    public void setUp() {
+        
+        Random rand = new Random(42);
+        
+        a = new Point[SIZE];
+        b = new Point[SIZE];
+        c = new Point[SIZE];
+        d = new Point[SIZE];
+        triangles = new Triangle[SIZE];
+        adjacent = new Triangle[SIZE];
+        sides = new Triangle.Side[SIZE];
+        adjacentSides = new Triangle.Side[SIZE];
+        
+        for (int i = 0; i < SIZE; i++) {
+            a[i] = new Point(rand.nextDouble(), rand.nextDouble());
+            b[i] = new Point(rand.nextDouble(), rand.nextDouble());
+            c[i] = new Point(rand.nextDouble(), rand.nextDouble());
+            d[i] = new Point(rand.nextDouble(), rand.nextDouble());
+            
+            // Two triangles sharing the edge AB
+            triangles[i] = new Triangle(a[i], b[i], c[i]);
+            adjacent[i] = new Triangle(triangles[i].getB(), triangles[i].getA(), d[i]);
+            triangles[i].link(adjacent[i]);
+            sides[i] = Triangle.Side.AB;
+            adjacentSides[i] = triangles[i].getAdjacentSide(Triangle.Side.AB);
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void centerRadius(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(centerRadiusInside(a[i], b[i], c[i], d[i]));
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void determinant(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(Predicates.incircle(a[i], b[i], c[i], d[i]) > 0);
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void areIllegal(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(triangles[i].areIllegal(sides[i], adjacent[i], adjacentSides[i]));
+        }
+    }
+    
+    /**
+     * The test of the original Circle(a, b, c).isInside(p):
+     * the center is the intersection of two perpendicular bisectors.
+     */
+    private static boolean centerRadiusInside(Point a, Point b, Point c, Point p) {
+        Line l1 = new Line(2*a.getX() - 2*b.getX(),
+                           2*a.getY() - 2*b.getY(),
+                           b.getX()*b.getX() - a.getX()*a.getX() +
+                           b.getY()*b.getY() - a.getY()*a.getY());
+        Line l2 = new Line(2*a.getX() - 2*c.getX(),
+                           2*a.getY() - 2*c.getY(),
+                           c.getX()*c.getX() - a.getX()*a.getX() +
+                           c.getY()*c.getY() - a.getY()*a.getY());
+        
+        Point center = Line.intersection(l1, l2);
+        return center.dist(p) < center.dist(a);
+    }
+    
+    private static final int SIZE = 1024;
+    
+    private Point[] a, b, c, d;
+    private Triangle[] triangles, adjacent;
+    private Triangle.Side[] sides, adjacentSides;
+}
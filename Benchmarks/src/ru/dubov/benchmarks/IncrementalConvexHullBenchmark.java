@@ -0,0 +1,70 @@
+package ru.dubov.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import ru.dubov.convexhull.ConvexHull;
+import ru.dubov.convexhull.IncrementalConvexHull;
+import ru.dubov.primitives.Point;
+import ru.dubov.primitives.Polygon;
+
+/**
+ * Measures the cost of keeping the convex hull (project 3) of a stream
+ * of points: the points come in batches, and the hull is needed after
+ * each batch. Each operation processes the whole stream, either
+ * with IncrementalConvexHull or by rerunning the Graham's scan
+ * on all the points received so far.
+ * 
+ * @author Mikhail Dubov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IncrementalConvexHullBenchmark {
+    
+    @Param({"10000", "100000"})
+    public int size;
+    
+    @Param({"UNIFORM", "CIRCLE"})
+    public BenchmarkData.Distribution distribution;
+    
+    @Setup
+    public void setUp() {
+        points = BenchmarkData.points(distribution, size);
+    }
+    
+    @Benchmark
+    public Polygon incremental() {
+        IncrementalConvexHull hull = new IncrementalConvexHull();
+        Polygon result = null;
+        
+        for (int from = 0; from < size; from += BATCH) {
+            for (int i = from; i < Math.min(size, from + BATCH); i++) {
+                hull.add(points.get(i));
+            }
+            result = hull.toPolygon();
+        }
+        
+        return result;
+    }
+    
+    @Benchmark
+    public Polygon graham() {
+        ArrayList<Point> received = new ArrayList<Point>(size);
+        Polygon result = null;
+        
+        for (int from = 0; from < size; from += BATCH) {
+            received.addAll(points.subList(from, Math.min(size, from + BATCH)));
+            result = ConvexHull.Graham(received);
+        }
+        
+        return result;
+    }
+    
+    private ArrayList<Point> points;
+    
+    private static final int BATCH = 1000;
+}
@@ -0,0 +1,41 @@
+package ru.dubov.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import ru.dubov.polygontriangulation.VanGoghAlgorithm;
+import ru.dubov.primitives.Polygon;
+import ru.dubov.primitives.Triangle;
+
+/**
+ * Benchmarks the O(n^2) ear clipping algorithm (project 5)
+ * on star-shaped polygons.
+ * 
+ * @author Mikhail Dubov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolygonTriangulationBenchmark {
+    
+    @Param({"100", "1000", "10000"})
+    public int size;
+    
+    @Param({"UNIFORM", "CLUSTERED", "CIRCLE"})
+    public BenchmarkData.Distribution distribution;
+    
+    @Setup
+    public void setUp() {
+        polygon = BenchmarkData.polygon(distribution, size);
+    }
+    
+    @Benchmark
+    public ArrayList<Triangle> vanGoghFast() {
+        return VanGoghAlgorithm.fast(polygon);
+    }
+    
+    private Polygon polygon;
+}
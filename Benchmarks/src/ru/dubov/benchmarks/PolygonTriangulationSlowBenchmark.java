@@ -0,0 +1,54 @@
+package ru.dubov.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import ru.dubov.polygontriangulation.DivideAndConquerAlgorithm;
+import ru.dubov.polygontriangulation.VanGoghAlgorithm;
+import ru.dubov.primitives.Polygon;
+import ru.dubov.primitives.Triangle;
+
+/**
+ * Benchmarks the O(n^3) ear clipping algorithm and the O(n^4)
+ * "divide and conquer" algorithm (project 5) on star-shaped polygons,
+ * the latter both with fork-join tasks and in a single thread.
+ * The naive ear clipping changes the polygon, so it works on a copy.
+ * 
+ * @author Mikhail Dubov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolygonTriangulationSlowBenchmark {
+    
+    @Param({"10", "30", "100"})
+    public int size;
+    
+    @Param({"UNIFORM", "CLUSTERED", "CIRCLE"})
+    public BenchmarkData.Distribution distribution;
+    
+    @Setup
+    public void setUp() {
+        polygon = BenchmarkData.polygon(distribution, size);
+    }
+    
+    @Benchmark
+    public ArrayList<Triangle> vanGoghSlow() {
+        return VanGoghAlgorithm.slow((Polygon)polygon.clone());
+    }
+    
+    @Benchmark
+    public ArrayList<Triangle> divideAndConquer() {
+        return DivideAndConquerAlgorithm.triangulate(polygon);
+    }
+    
+    @Benchmark
+    public ArrayList<Triangle> divideAndConquerSequential() {
+        return DivideAndConquerAlgorithm.triangulateSequential(polygon);
+    }
+    
+    private Polygon polygon;
+}
@@ -0,0 +1,82 @@
+package ru.dubov.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import ru.dubov.convexhull.ConvexHull;
+import ru.dubov.convexhull.RotatingCalipers;
+import ru.dubov.primitives.Point;
+import ru.dubov.primitives.Polygon;
+
+/**
+ * Measures the post-processing of a convex hull (project 3):
+ * the diameter, the width and the minimum-area bounding rectangle,
+ * either with RotatingCalipers in O(h) or naively in O(h^2)
+ * (all the pairs of vertices, every vertex against every edge).
+ * The "hull" method gives the cost of building the hull itself.
+ * 
+ * @author Mikhail Dubov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RotatingCalipersBenchmark {
+    
+    @Param({"1000", "10000"})
+    public int size;
+    
+    @Param({"UNIFORM", "CIRCLE"})
+    public BenchmarkData.Distribution distribution;
+    
+    @Setup
+    public void setUp() {
+        hull = ConvexHull.Graham(BenchmarkData.points(distribution, size));
+    }
+    
+    @Benchmark
+    public Polygon hull() {
+        return ConvexHull.Graham(BenchmarkData.points(distribution, size));
+    }
+    
+    @Benchmark
+    public double calipers() {
+        return RotatingCalipers.diameter(hull) + RotatingCalipers.width(hull) +
+               RotatingCalipers.minimumAreaRectangle(hull).get(0).getX();
+    }
+    
+    @Benchmark
+    public double naive() {
+        int h = hull.size();
+        
+        double diameter = 0;
+        for (int i = 0; i < h; i++) {
+            for (int j = i + 1; j < h; j++) {
+                diameter = Math.max(diameter, hull.get(i).dist(hull.get(j)));
+            }
+        }
+        
+        double width = Double.POSITIVE_INFINITY, area = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < h; i++) {
+            Point a = hull.get(i), b = hull.get((i + 1) % h);
+            double len = a.dist(b);
+            double ux = (b.getX() - a.getX()) / len, uy = (b.getY() - a.getY()) / len;
+            
+            double min = 0, max = 0, height = 0;
+            for (int j = 0; j < h; j++) {
+                double dx = hull.get(j).getX() - a.getX(), dy = hull.get(j).getY() - a.getY();
+                min = Math.min(min, dx * ux + dy * uy);
+                max = Math.max(max, dx * ux + dy * uy);
+                height = Math.max(height, dy * ux - dx * uy);
+            }
+            
+            width = Math.min(width, height);
+            area = Math.min(area, (max - min) * height);
+        }
+        
+        return diameter + width + area;
+    }
+    
+    private Polygon hull;
+}
@@ -0,0 +1,52 @@
+package ru.dubov.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import ru.dubov.primitives.Segment;
+
+/**
+ * Benchmarks the two segments intersection test (project 1)
+ * and the "sweeping line" any segments intersection algorithm (project 2)
+ * on disjoint segments, which is the worst case for the latter.
+ * The "two" benchmark tests "size" pairs of consecutive segments.
+ * 
+ * @author Mikhail Dubov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SegmentsIntersectBenchmark {
+    
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int size;
+    
+    @Param({"UNIFORM", "CLUSTERED", "CIRCLE", "COLLINEAR"})
+    public BenchmarkData.Distribution distribution;
+    
+    @Setup
+    public void setUp() {
+        segments = BenchmarkData.segments(distribution, size);
+    }
+    
+    @Benchmark
+    public int two() {
+        int res = 0;
+        for (int i = 0; i < segments.size() - 1; i++) {
+            if (ru.dubov.segmentsintersect.SegmentsIntersect.two(segments.get(i), segments.get(i + 1))) {
+                res++;
+            }
+        }
+        return res;
+    }
+    
+    @Benchmark
+    public boolean any() {
+        return ru.dubov.anysegmentsintersect.SegmentsIntersect.any(segments);
+    }
+    
+    private ArrayList<Segment> segments;
+}
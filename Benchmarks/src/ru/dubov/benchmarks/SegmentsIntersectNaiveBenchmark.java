@@ -0,0 +1,39 @@
+package ru.dubov.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import ru.dubov.primitives.Segment;
+
+/**
+ * Benchmarks the naive O(n^2) any segments intersection algorithm
+ * (project 2) on disjoint segments.
+ * 
+ * @author Mikhail Dubov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SegmentsIntersectNaiveBenchmark {
+    
+    @Param({"100", "1000", "10000"})
+    public int size;
+    
+    @Param({"UNIFORM", "CLUSTERED", "CIRCLE", "COLLINEAR"})
+    public BenchmarkData.Distribution distribution;
+    
+    @Setup
+    public void setUp() {
+        segments = BenchmarkData.segments(distribution, size);
+    }
+    
+    @Benchmark
+    public boolean anyNaive() {
+        return ru.dubov.anysegmentsintersect.SegmentsIntersect.any_Naive(segments);
+    }
+    
+    private ArrayList<Segment> segments;
+}
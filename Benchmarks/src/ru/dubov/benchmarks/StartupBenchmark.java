@@ -0,0 +1,56 @@
+package ru.dubov.benchmarks;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the cold-start time of a program that calls
+ * Delaunay.randomizedIncremental from its main method:
+ * each operation launches a new JVM running ColdStart
+ * with the benchmark's class path and waits for it to finish.
+ * 
+ * The "headless" mode uses only the algorithm classes.
+ * The "swing" mode is a synthetic approximation of the cost
+ * of Swing on the startup path: it only loads the JFrame class
+ * (no frame can be shown in the headless JVM). It does not reproduce
+ * the layout before the demo MainFrames were moved to a separate
+ * module, as a program calling the algorithms did not load them.
+ * 
+ * @author Mikhail Dubov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+    
+    @Param({"headless", "swing"})
+    public String mode;
+    
+    @Param({"1000"})
+    public int size;
+    
+    @Benchmark
+    public int coldStart() throws Exception {
+        
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        
+        Process process = new ProcessBuilder(java,
+                "-cp", System.getProperty("java.class.path"),
+                "-Djava.awt.headless=true",
+                ColdStart.class.getName(), mode, Integer.toString(size))
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("ColdStart exited with code " + exitCode);
+        }
+        
+        return exitCode;
+    }
+}
@@ -0,0 +1,66 @@
+package ru.dubov.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import ru.dubov.convexhull.ConvexHull;
+import ru.dubov.convexhull.StreamingConvexHull;
+import ru.dubov.primitives.MappedPointSource;
+import ru.dubov.primitives.PointSet;
+import ru.dubov.primitives.Polygon;
+
+/**
+ * Measures the convex hull (project 3) of points read from a file:
+ * "streaming" reads them in chunks with StreamingConvexHull,
+ * keeping only the hull and one chunk in memory;
+ * "mapped" runs the Graham's scan on the whole file
+ * mapped with MappedPointSource.
+ * 
+ * @author Mikhail Dubov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamingConvexHullBenchmark {
+    
+    @Param({"1000000"})
+    public int size;
+    
+    @Param({"UNIFORM", "CIRCLE"})
+    public BenchmarkData.Distribution distribution;
+    
+    @Param({"65536"})
+    public int chunkSize;
+    
+    @Setup
+    public void setUp() throws IOException {
+        PointSet points = BenchmarkData.pointSet(distribution, size);
+        
+        file = File.createTempFile("points", ".bin");
+        file.deleteOnExit();
+        MappedPointSource.write(file.toPath(), points);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+    
+    @Benchmark
+    public Polygon streaming() throws IOException {
+        StreamingConvexHull hull = new StreamingConvexHull();
+        hull.addFile(file.toPath(), chunkSize);
+        return hull.toPolygon();
+    }
+    
+    @Benchmark
+    public int[] mapped() throws IOException {
+        return ConvexHull.Graham(new MappedPointSource(file.toPath()));
+    }
+    
+    private File file;
+}
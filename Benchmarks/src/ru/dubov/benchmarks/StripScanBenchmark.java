@@ -0,0 +1,100 @@
+package ru.dubov.benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import ru.dubov.primitives.PointSet;
+
+/**
+ * Measures the scan of the strip around the dividing line
+ * in the combine step of the closest pair algorithm (project 4):
+ *
+ * "squared" carries the best squared distance as a primitive and
+ * stops at the first point that is too far along the Y axis,
+ * as ClosestPair does now;
+ * "sqrt" takes the distances with Math.sqrt and recomputes the
+ * distance between the current best points on every comparison,
+ * as the original ClosestBetweenSubsets did.
+ *
+ * The strip is as wide as the closest distance in the halves,
+ * so each point has a few neighbours within that distance along Y.
+ *
+ * @author Mikhail Dubov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StripScanBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Setup
+    public void setUp() {
+        Random rand = new Random(42);
+
+        // The points of the strip, sorted by Y
+        double[] ys = new double[size];
+        for (int i = 0; i < size; i++) {
+            ys[i] = rand.nextDouble();
+        }
+        Arrays.sort(ys);
+
+        d = 4.0 / size;
+        strip = new PointSet(size);
+        for (int i = 0; i < size; i++) {
+            strip.add(0.5 + d * (2 * rand.nextDouble() - 1), ys[i]);
+        }
+    }
+
+    @Benchmark
+    public int squared() {
+        double best = d * d;
+        int bestI = 0;
+
+        for (int i = 0; i < size - 1; i++) {
+            double x = strip.getX(i), y = strip.getY(i);
+            for (int j = i + 1; j < size; j++) {
+                double dy = strip.getY(j) - y;
+                if (dy * dy >= best) {
+                    break;
+                }
+                double dx = strip.getX(j) - x;
+                if (dx * dx + dy * dy < best) {
+                    best = dx * dx + dy * dy;
+                    bestI = i;
+                }
+            }
+        }
+
+        return bestI;
+    }
+
+    @Benchmark
+    public int sqrt() {
+        int p1 = 0, p2 = 1;
+
+        for (int i = 0; i < size - 1; i++) {
+            for (int j = i + 1; j <= Math.min(i + 7, size - 1); j++) {
+                if (dist(i, j) < dist(p1, p2)) {
+                    p1 = i;
+                    p2 = j;
+                }
+            }
+        }
+
+        return p1;
+    }
+
+    private double dist(int i, int j) {
+        return Math.sqrt((strip.getX(j) - strip.getX(i)) * (strip.getX(j) - strip.getX(i)) +
+                         (strip.getY(j) - strip.getY(i)) * (strip.getY(j) - strip.getY(i)));
+    }
+
+    private PointSet strip;
+    private double d;
+}
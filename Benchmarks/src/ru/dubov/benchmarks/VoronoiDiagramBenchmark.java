@@ -0,0 +1,41 @@
+package ru.dubov.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import ru.dubov.primitives.Point;
+import ru.dubov.primitives.Polygon;
+import ru.dubov.voronoidiagram.VoronoiDiagram;
+
+/**
+ * Benchmarks the O(n^3) Voronoi diagram construction
+ * via halfplanes intersection (project 8).
+ * 
+ * @author Mikhail Dubov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VoronoiDiagramBenchmark {
+    
+    @Param({"10", "30", "100"})
+    public int size;
+    
+    @Param({"UNIFORM", "CLUSTERED", "CIRCLE"})
+    public BenchmarkData.Distribution distribution;
+    
+    @Setup
+    public void setUp() {
+        points = BenchmarkData.points(distribution, size);
+    }
+    
+    @Benchmark
+    public ArrayList<Polygon> viaHalfplanesIntersection() {
+        return VoronoiDiagram.viaHalfplanesIntersection(points);
+    }
+    
+    private ArrayList<Point> points;
+}
@@ -207,8 +207,9 @@ public class MainFrame extends javax.swing.JFrame {
 
     private void jButton1ActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jButton1ActionPerformed
         
-        anyIntersect = SegmentsIntersect.any(segments);
-        intersecting = SegmentsIntersect.intersectingSegments();
+        SegmentsIntersect.Result result = SegmentsIntersect.findIntersection(segments);
+        anyIntersect = result.isFound();
+        intersecting = result.getSegments();
         
         state = 2;
         
@@ -217,8 +218,9 @@ public class MainFrame extends javax.swing.JFrame {
 
     private void jButton3ActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jButton3ActionPerformed
         
-        anyIntersect = SegmentsIntersect.any_Naive(segments);
-        intersecting = SegmentsIntersect.intersectingSegments();
+        SegmentsIntersect.Result result = SegmentsIntersect.findIntersection_Naive(segments);
+        anyIntersect = result.isFound();
+        intersecting = result.getSegments();
         
         state = 2;
         
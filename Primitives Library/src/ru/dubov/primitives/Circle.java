@@ -39,6 +39,14 @@ public class Circle {
         // TODO: throw an Exception?
         center = Line.intersection(l1, l2); // may be NaP (if a, b, c are collinear).
         radius = center.dist(a);
+        
+        // Keep the boundary points for the robust in-circle test
+        double orientation = Predicates.orient2d(a, b, c);
+        if (orientation != 0) {
+            this.a = a;
+            this.b = (orientation > 0 ? b : c);
+            this.c = (orientation > 0 ? c : b);
+        }
     }
     
     /**
@@ -66,6 +74,9 @@ public class Circle {
      * @return true, if the point is inside, false otherwise
      */
     public boolean isInside(Point p) {
+        if (a != null) {
+            return Predicates.incircle(a, b, c, p) > 0;
+        }
         return center.dist(p) < radius;
     }
     
@@ -76,9 +87,15 @@ public class Circle {
      * @return true, if the point is outside, false otherwise
      */
     public boolean isOutside(Point p) {
+        if (a != null) {
+            return Predicates.incircle(a, b, c, p) < 0;
+        }
         return center.dist(p) > radius;
     }
     
     private Point center;
     private double radius;
+    
+    /** The boundary points in CCW order (if the circle was given by them) **/
+    private Point a, b, c;
 }
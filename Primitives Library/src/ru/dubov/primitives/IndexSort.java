@@ -0,0 +1,175 @@
+package ru.dubov.primitives;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Sorts arrays of point indices (e.g. into a PointSet)
+ * using a comparator on the indices, so that
+ * no Point objects are needed for sorting.
+ * 
+ * @author Mikhail Dubov
+ */
+public class IndexSort {
+    
+    /**
+     * Compares two points given by their indices.
+     */
+    public interface IndexComparator {
+        
+        /**
+         * Compares two points given by their indices.
+         * 
+         * @param i The index of the first point
+         * @param j The index of the second point
+         * @return A negative number, zero or a positive number
+         *         as the first point is less than, equal to
+         *         or greater than the second one
+         */
+        int compare(int i, int j);
+    }
+    
+    /**
+     * Sorts the array of indices using merge sort - O(n*log(n)).
+     * The sort is stable.
+     * 
+     * @param indices The array of indices
+     * @param c The comparator
+     */
+    public static void sort(int[] indices, IndexComparator c) {
+        sort(indices, 0, indices.length, c);
+    }
+    
+    /**
+     * Sorts the range [from, to) of the array of indices
+     * using merge sort - O(n*log(n)). The sort is stable.
+     * 
+     * @param indices The array of indices
+     * @param from The first index of the range (inclusive)
+     * @param to The last index of the range (exclusive)
+     * @param c The comparator
+     */
+    public static void sort(int[] indices, int from, int to, IndexComparator c) {
+        if (to - from < 2) {
+            return;
+        }
+        int[] buffer = new int[to - from];
+        System.arraycopy(indices, from, buffer, 0, to - from);
+        mergeSort(buffer, 0, indices, from, to - from, c);
+    }
+    
+    /**
+     * Sorts the array of indices using merge sort - O(n*log(n)),
+     * sorting and merging large halves in parallel as fork-join tasks
+     * (in the current fork-join pool or in the common one).
+     * The sort is stable.
+     * 
+     * @param indices The array of indices
+     * @param c The comparator (should be safe to call from several threads)
+     */
+    public static void parallelSort(int[] indices, IndexComparator c) {
+        if (indices.length < 2) {
+            return;
+        }
+        int[] buffer = indices.clone();
+        new MergeSortTask(buffer, 0, indices, 0, indices.length, c).invoke();
+    }
+    
+    /**
+     * The recursive procedure for sort():
+     * sorts src[srcFrom, srcFrom + length) into dst[dstFrom, dstFrom + length),
+     * using the source range as the scratch space.
+     * Both ranges should contain the same elements before the call.
+     */
+    private static void mergeSort(int[] src, int srcFrom, int[] dst, int dstFrom,
+                                  int length, IndexComparator c) {
+        
+        // Insertion sort on small ranges
+        if (length <= INSERTION_SORT_THRESHOLD) {
+            for (int i = dstFrom + 1; i < dstFrom + length; i++) {
+                int t = dst[i];
+                int j = i - 1;
+                while (j >= dstFrom && c.compare(dst[j], t) > 0) {
+                    dst[j + 1] = dst[j];
+                    j--;
+                }
+                dst[j + 1] = t;
+            }
+            return;
+        }
+        
+        // Sort both halves of dst into src ...
+        int half = length / 2;
+        mergeSort(dst, dstFrom, src, srcFrom, half, c);
+        mergeSort(dst, dstFrom + half, src, srcFrom + half, length - half, c);
+        
+        // ... and merge them back into dst
+        merge(src, srcFrom, dst, dstFrom, half, length, c);
+    }
+    
+    /**
+     * Merges the sorted ranges src[srcFrom, srcFrom + half)
+     * and src[srcFrom + half, srcFrom + length) into dst[dstFrom, dstFrom + length).
+     */
+    private static void merge(int[] src, int srcFrom, int[] dst, int dstFrom,
+                              int half, int length, IndexComparator c) {
+        
+        int i = srcFrom, iEnd = srcFrom + half;
+        int j = iEnd, jEnd = srcFrom + length;
+        int k = dstFrom;
+        while (i < iEnd && j < jEnd) {
+            if (c.compare(src[j], src[i]) < 0) {
+                dst[k++] = src[j++];
+            } else {
+                dst[k++] = src[i++];
+            }
+        }
+        while (i < iEnd) {
+            dst[k++] = src[i++];
+        }
+        while (j < jEnd) {
+            dst[k++] = src[j++];
+        }
+    }
+    
+    /**
+     * The fork-join version of mergeSort().
+     */
+    private static class MergeSortTask extends RecursiveAction {
+        
+        MergeSortTask(int[] src, int srcFrom, int[] dst, int dstFrom,
+                      int length, IndexComparator c) {
+            this.src = src;
+            this.srcFrom = srcFrom;
+            this.dst = dst;
+            this.dstFrom = dstFrom;
+            this.length = length;
+            this.c = c;
+        }
+        
+        @Override
+        protected void compute() {
+            
+            if (length <= PARALLEL_SORT_THRESHOLD) {
+                mergeSort(src, srcFrom, dst, dstFrom, length, c);
+                return;
+            }
+            
+            int half = length / 2;
+            invokeAll(new MergeSortTask(dst, dstFrom, src, srcFrom, half, c),
+                      new MergeSortTask(dst, dstFrom + half, src, srcFrom + half, length - half, c));
+            
+            merge(src, srcFrom, dst, dstFrom, half, length, c);
+        }
+        
+        private final int[] src, dst;
+        private final int srcFrom, dstFrom, length;
+        private final IndexComparator c;
+        
+        private static final long serialVersionUID = 1L;
+    }
+    
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    
+    /** Ranges of at most this length are sorted in a single task **/
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 13;
+}
@@ -0,0 +1,116 @@
+package ru.dubov.primitives;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Represents a set of points stored in a file
+ * as little-endian (x, y) pairs of doubles.
+ * 
+ * The file is memory-mapped rather than read, so the coordinates
+ * are neither copied to the heap nor loaded in advance.
+ * As a single mapping is limited to 2 GB, the file is mapped
+ * in chunks of CHUNK_POINTS points.
+ * 
+ * @author Mikhail Dubov
+ */
+public class MappedPointSource implements PointSource {
+    
+    /**
+     * Maps the file with the points.
+     * 
+     * @param file The path to the file
+     * @throws IOException if the file cannot be mapped
+     *         or its size is not a multiple of 16 bytes
+     */
+    public MappedPointSource(Path file) throws IOException {
+        
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            
+            long length = channel.size();
+            
+            if (length % POINT_BYTES != 0) {
+                throw new IOException("File size is not a multiple of " + POINT_BYTES + " bytes: " + file);
+            }
+            if (length / POINT_BYTES > Integer.MAX_VALUE) {
+                throw new IOException("Too many points in the file: " + file);
+            }
+            
+            size = (int)(length / POINT_BYTES);
+            // In long, since size + CHUNK_POINTS may not fit into an int
+            chunks = new DoubleBuffer[(int)(((long)size + CHUNK_POINTS - 1) / CHUNK_POINTS)];
+            
+            for (int i = 0; i < chunks.length; i++) {
+                long position = (long)i * CHUNK_POINTS * POINT_BYTES;
+                long chunkLength = Math.min((long)CHUNK_POINTS * POINT_BYTES, length - position);
+                
+                // The mapping stays valid after the channel is closed
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, chunkLength)
+                                   .order(ByteOrder.LITTLE_ENDIAN)
+                                   .asDoubleBuffer();
+            }
+        }
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @Override
+    public double getX(int i) {
+        return chunks[i >>> CHUNK_SHIFT].get(2 * (i & CHUNK_MASK));
+    }
+    
+    @Override
+    public double getY(int i) {
+        return chunks[i >>> CHUNK_SHIFT].get(2 * (i & CHUNK_MASK) + 1);
+    }
+    
+    /**
+     * Writes the points to a file in the format
+     * expected by MappedPointSource.
+     * 
+     * @param file The path to the file
+     * @param points The points
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, PointSource points) throws IOException {
+        
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            
+            ByteBuffer buffer = ByteBuffer.allocate(4096 * POINT_BYTES)
+                                          .order(ByteOrder.LITTLE_ENDIAN);
+            
+            for (int i = 0; i < points.size(); i++) {
+                buffer.putDouble(points.getX(i));
+                buffer.putDouble(points.getY(i));
+                
+                if (! buffer.hasRemaining() || i == points.size() - 1) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+        }
+    }
+    
+    /** The number of bytes per point **/
+    public static final int POINT_BYTES = 16;
+    
+    /** The number of points per mapped chunk (1 GB) **/
+    private static final int CHUNK_SHIFT = 26;
+    private static final int CHUNK_POINTS = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_POINTS - 1;
+    
+    private final DoubleBuffer[] chunks;
+    private final int size;
+}
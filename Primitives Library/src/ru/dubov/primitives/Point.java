@@ -64,8 +64,7 @@ public class Point {
      * @return The cross product
      */
     private static double crossProduct(Point p0, Point p1, Point p2) {
-        return (p1.getX() - p0.getX()) * (p2.getY() - p0.getY()) -
-                (p2.getX() - p0.getX()) * (p1.getY() - p0.getY());
+        return Predicates.orient2d(p0, p1, p2);
     }
     
     /**
@@ -0,0 +1,142 @@
+package ru.dubov.primitives;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Represents a set of points in two dimensional space
+ * stored as two parallel arrays of coordinates.
+ * 
+ * Unlike a list of Point objects, the set keeps no object
+ * per point, so the points are accessed by their index.
+ * 
+ * @author Mikhail Dubov
+ */
+public class PointSet implements PointSource {
+    
+    /**
+     * Initializes an empty point set.
+     */
+    public PointSet() {
+        this(16);
+    }
+    
+    /**
+     * Initializes an empty point set
+     * with the given initial capacity.
+     * 
+     * @param capacity The initial capacity
+     */
+    public PointSet(int capacity) {
+        xs = new double[Math.max(capacity, 1)];
+        ys = new double[Math.max(capacity, 1)];
+        size = 0;
+    }
+    
+    /**
+     * Initializes a point set by the arrays of coordinates.
+     * NB: The arrays are not copied, so they
+     *     should not be changed afterwards.
+     * 
+     * @param xs The X coordinates
+     * @param ys The Y coordinates, must be of the same length as xs
+     */
+    public PointSet(double[] xs, double[] ys) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("Coordinate arrays differ in length");
+        }
+        this.xs = xs;
+        this.ys = ys;
+        this.size = xs.length;
+    }
+    
+    /**
+     * Initializes a point set by the list of points.
+     * 
+     * @param points The list of points
+     */
+    public PointSet(List<Point> points) {
+        this(points.size());
+        for (Point p : points) {
+            add(p.getX(), p.getY());
+        }
+    }
+    
+    /**
+     * Adds a point to the set (as the last one).
+     * 
+     * @param x The X coordinate
+     * @param y The Y coordinate
+     */
+    public void add(double x, double y) {
+        if (size == xs.length) {
+            // The set may have been built on empty arrays
+            int capacity = Math.max(2 * size, 16);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+        }
+        xs[size] = x;
+        ys[size] = y;
+        size++;
+    }
+    
+    /**
+     * Returns the number of points in the set.
+     * 
+     * @return The number of points
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Determines whether the point set is empty.
+     * 
+     * @return true, if there are no points in the set, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    /**
+     * Returns the X coordinate of the ith point.
+     * 
+     * @param i The index of the point
+     * @return The X coordinate
+     */
+    @Override
+    public double getX(int i) {
+        return xs[i];
+    }
+    
+    /**
+     * Returns the Y coordinate of the ith point.
+     * 
+     * @param i The index of the point
+     * @return The Y coordinate
+     */
+    @Override
+    public double getY(int i) {
+        return ys[i];
+    }
+    
+    /**
+     * Creates a Point object for the ith point
+     * (to be used with the list-based algorithms).
+     * 
+     * @param i The index of the point
+     * @return The point or null, if the index is not correct
+     */
+    public Point get(int i) {
+        if (i >= 0 && i < size) {
+            return new Point(xs[i], ys[i]);
+        } else {
+            return null;
+        }
+    }
+    
+    private double[] xs;
+    private double[] ys;
+    private int size;
+}
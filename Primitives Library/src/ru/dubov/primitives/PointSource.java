@@ -0,0 +1,34 @@
+package ru.dubov.primitives;
+
+/**
+ * Represents an indexed source of points in two dimensional space,
+ * which gives access to the point coordinates by the point index
+ * without creating Point objects.
+ * 
+ * @author Mikhail Dubov
+ */
+public interface PointSource {
+    
+    /**
+     * Returns the number of points.
+     * 
+     * @return The number of points
+     */
+    int size();
+    
+    /**
+     * Returns the X coordinate of the ith point.
+     * 
+     * @param i The index of the point
+     * @return The X coordinate
+     */
+    double getX(int i);
+    
+    /**
+     * Returns the Y coordinate of the ith point.
+     * 
+     * @param i The index of the point
+     * @return The Y coordinate
+     */
+    double getY(int i);
+}
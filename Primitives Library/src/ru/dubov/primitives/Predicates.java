@@ -0,0 +1,320 @@
+package ru.dubov.primitives;
+
+/**
+ * Robust geometric predicates: the orientation test
+ * and the in-circle test.
+ * 
+ * Each predicate first evaluates the determinant in plain floating point
+ * and checks the result against a forward error bound. Only if the result
+ * is too close to zero to be trusted, the determinant is recomputed exactly
+ * using floating-point expansion arithmetic.
+ * The fast path does not allocate any memory.
+ * 
+ * See "Adaptive Precision Floating-Point Arithmetic and Fast Robust
+ * Geometric Predicates" by Jonathan Richard Shewchuk for details.
+ * 
+ * @author Mikhail Dubov
+ */
+public class Predicates {
+    
+    /**
+     * Determines the orientation of three points.
+     * 
+     * @param ax The X coordinate of the first point
+     * @param ay The Y coordinate of the first point
+     * @param bx The X coordinate of the second point
+     * @param by The Y coordinate of the second point
+     * @param cx The X coordinate of the third point
+     * @param cy The Y coordinate of the third point
+     * @return A positive value, if the points a, b and c occur
+     *         in counterclockwise order; a negative value, if they occur
+     *         in clockwise order; zero, if they are collinear.
+     *         The value approximates the doubled area of the triangle abc.
+     */
+    public static double orient2d(double ax, double ay, double bx, double by,
+                                  double cx, double cy) {
+        
+        double detLeft = (ax - cx) * (by - cy);
+        double detRight = (ay - cy) * (bx - cx);
+        double det = detLeft - detRight;
+        double detSum;
+        
+        if (detLeft > 0) {
+            if (detRight <= 0) {
+                return det;
+            }
+            detSum = detLeft + detRight;
+        } else if (detLeft < 0) {
+            if (detRight >= 0) {
+                return det;
+            }
+            detSum = -detLeft - detRight;
+        } else {
+            return det;
+        }
+        
+        double errBound = CCW_ERRBOUND_A * detSum;
+        if (det >= errBound || -det >= errBound) {
+            return det;
+        }
+        
+        return orient2dExact(ax, ay, bx, by, cx, cy);
+    }
+    
+    /**
+     * Determines the orientation of three points.
+     * 
+     * @param a The first point
+     * @param b The second point
+     * @param c The third point
+     * @return A positive value, if the points occur in counterclockwise order;
+     *         a negative value, if they occur in clockwise order;
+     *         zero, if they are collinear
+     */
+    public static double orient2d(Point a, Point b, Point c) {
+        return orient2d(a.getX(), a.getY(), b.getX(), b.getY(), c.getX(), c.getY());
+    }
+    
+    /**
+     * Determines whether the point d lies inside the circle
+     * passing through the points a, b and c.
+     * 
+     * @param ax The X coordinate of the first point
+     * @param ay The Y coordinate of the first point
+     * @param bx The X coordinate of the second point
+     * @param by The Y coordinate of the second point
+     * @param cx The X coordinate of the third point
+     * @param cy The Y coordinate of the third point
+     * @param dx The X coordinate of the tested point
+     * @param dy The Y coordinate of the tested point
+     * @return A positive value, if d lies inside the circle;
+     *         a negative value, if it lies outside;
+     *         zero, if the four points are cocircular.
+     *         The points a, b and c must be in counterclockwise order,
+     *         otherwise the sign of the result is reversed.
+     */
+    public static double incircle(double ax, double ay, double bx, double by,
+                                  double cx, double cy, double dx, double dy) {
+        
+        double adx = ax - dx, ady = ay - dy;
+        double bdx = bx - dx, bdy = by - dy;
+        double cdx = cx - dx, cdy = cy - dy;
+        
+        double bdxcdy = bdx * cdy, cdxbdy = cdx * bdy;
+        double aLift = adx * adx + ady * ady;
+        
+        double cdxady = cdx * ady, adxcdy = adx * cdy;
+        double bLift = bdx * bdx + bdy * bdy;
+        
+        double adxbdy = adx * bdy, bdxady = bdx * ady;
+        double cLift = cdx * cdx + cdy * cdy;
+        
+        double det = aLift * (bdxcdy - cdxbdy) +
+                     bLift * (cdxady - adxcdy) +
+                     cLift * (adxbdy - bdxady);
+        
+        double permanent = (Math.abs(bdxcdy) + Math.abs(cdxbdy)) * aLift +
+                           (Math.abs(cdxady) + Math.abs(adxcdy)) * bLift +
+                           (Math.abs(adxbdy) + Math.abs(bdxady)) * cLift;
+        
+        double errBound = ICC_ERRBOUND_A * permanent;
+        if (det > errBound || -det > errBound) {
+            return det;
+        }
+        
+        return incircleExact(ax, ay, bx, by, cx, cy, dx, dy);
+    }
+    
+    /**
+     * Determines whether the point d lies inside the circle
+     * passing through the points a, b and c.
+     * 
+     * @param a The first point
+     * @param b The second point
+     * @param c The third point
+     * @param d The tested point
+     * @return A positive value, if d lies inside the circle;
+     *         a negative value, if it lies outside;
+     *         zero, if the four points are cocircular
+     *         (for a, b and c in counterclockwise order)
+     */
+    public static double incircle(Point a, Point b, Point c, Point d) {
+        return incircle(a.getX(), a.getY(), b.getX(), b.getY(),
+                        c.getX(), c.getY(), d.getX(), d.getY());
+    }
+    
+    /**
+     * Computes the orientation determinant exactly:
+     * ax*by - ay*bx + bx*cy - by*cx + cx*ay - cy*ax.
+     */
+    private static double orient2dExact(double ax, double ay, double bx, double by,
+                                        double cx, double cy) {
+        
+        double[] ab = crossProduct(ax, ay, bx, by);
+        double[] bc = crossProduct(bx, by, cx, cy);
+        double[] ca = crossProduct(cx, cy, ax, ay);
+        
+        return estimate(sum(sum(ab, bc), ca));
+    }
+    
+    /**
+     * Computes the in-circle determinant exactly
+     * (the 4x4 determinant with rows (x, y, x^2 + y^2, 1)).
+     */
+    private static double incircleExact(double ax, double ay, double bx, double by,
+                                        double cx, double cy, double dx, double dy) {
+        
+        double[] ab = crossProduct(ax, ay, bx, by);
+        double[] bc = crossProduct(bx, by, cx, cy);
+        double[] cd = crossProduct(cx, cy, dx, dy);
+        double[] da = crossProduct(dx, dy, ax, ay);
+        double[] ac = crossProduct(ax, ay, cx, cy);
+        double[] bd = crossProduct(bx, by, dx, dy);
+        
+        double[] cda = sum(sum(cd, da), ac);
+        double[] dab = sum(sum(da, ab), bd);
+        double[] abc = sum(sum(ab, bc), negate(ac));
+        double[] bcd = sum(sum(bc, cd), negate(bd));
+        
+        double[] aDet = lift(bcd, ax, ay);
+        double[] bDet = negate(lift(cda, bx, by));
+        double[] cDet = lift(dab, cx, cy);
+        double[] dDet = negate(lift(abc, dx, dy));
+        
+        return estimate(sum(sum(aDet, bDet), sum(cDet, dDet)));
+    }
+    
+    /**
+     * Computes the expansion e * (x^2 + y^2).
+     */
+    private static double[] lift(double[] e, double x, double y) {
+        return sum(scale(scale(e, x), x), scale(scale(e, y), y));
+    }
+    
+    /**
+     * Computes the expansion ax*by - ay*bx.
+     */
+    private static double[] crossProduct(double ax, double ay, double bx, double by) {
+        
+        double p1 = ax * by;
+        double e1 = Math.fma(ax, by, -p1);
+        double p2 = ay * bx;
+        double e2 = Math.fma(ay, bx, -p2);
+        
+        return sum(new double[] {e1, p1}, new double[] {-e2, -p2});
+    }
+    
+    /**
+     * Computes the sum of two nonoverlapping expansions
+     * (the components are ordered by increasing magnitude),
+     * eliminating zero components.
+     * 
+     * See the EXPANSION-SUM algorithm in [Shewchuk].
+     */
+    private static double[] sum(double[] e, double[] f) {
+        
+        double[] h = new double[e.length + f.length];
+        System.arraycopy(e, 0, h, 0, e.length);
+        int length = e.length;
+        
+        // Grow the expansion by each component of f
+        for (int i = 0; i < f.length; i++) {
+            double q = f[i];
+            int hIndex = 0;
+            for (int j = 0; j < length; j++) {
+                double x = q + h[j];
+                double bVirt = x - q;
+                double aVirt = x - bVirt;
+                double err = (q - aVirt) + (h[j] - bVirt);
+                q = x;
+                if (err != 0) {
+                    h[hIndex++] = err;
+                }
+            }
+            h[hIndex++] = q;
+            length = hIndex;
+        }
+        
+        return trim(h, length);
+    }
+    
+    /**
+     * Multiplies an expansion by a double,
+     * eliminating zero components.
+     * 
+     * See the SCALE-EXPANSION algorithm in [Shewchuk].
+     */
+    private static double[] scale(double[] e, double b) {
+        
+        double[] h = new double[2 * e.length];
+        int hIndex = 0;
+        
+        double q = e[0] * b;
+        double err = Math.fma(e[0], b, -q);
+        if (err != 0) {
+            h[hIndex++] = err;
+        }
+        
+        for (int i = 1; i < e.length; i++) {
+            double p1 = e[i] * b;
+            double p0 = Math.fma(e[i], b, -p1);
+            
+            // Two-Sum of q and p0
+            double sum = q + p0;
+            double bVirt = sum - q;
+            double aVirt = sum - bVirt;
+            err = (q - aVirt) + (p0 - bVirt);
+            if (err != 0) {
+                h[hIndex++] = err;
+            }
+            
+            // Fast-Two-Sum of p1 and sum
+            q = p1 + sum;
+            err = sum - (q - p1);
+            if (err != 0) {
+                h[hIndex++] = err;
+            }
+        }
+        
+        h[hIndex++] = q;
+        
+        return trim(h, hIndex);
+    }
+    
+    private static double[] negate(double[] e) {
+        double[] h = new double[e.length];
+        for (int i = 0; i < e.length; i++) {
+            h[i] = -e[i];
+        }
+        return h;
+    }
+    
+    private static double[] trim(double[] h, int length) {
+        if (length == h.length) {
+            return h;
+        }
+        double[] res = new double[length];
+        System.arraycopy(h, 0, res, 0, length);
+        return res;
+    }
+    
+    /**
+     * Returns the most significant component of an expansion,
+     * which has the sign of the whole expansion.
+     */
+    private static double estimate(double[] e) {
+        for (int i = e.length - 1; i >= 0; i--) {
+            if (e[i] != 0) {
+                return e[i];
+            }
+        }
+        return 0;
+    }
+    
+    /** Machine epsilon for doubles (2^-53) **/
+    private static final double EPSILON = 1.1102230246251565E-16;
+    
+    /** Error bounds for the fast paths, see [Shewchuk] **/
+    private static final double CCW_ERRBOUND_A = (3.0 + 16.0 * EPSILON) * EPSILON;
+    private static final double ICC_ERRBOUND_A = (10.0 + 96.0 * EPSILON) * EPSILON;
+}
@@ -26,15 +26,10 @@ public class Triangle implements Cloneable {
         
         // Make the triangle counterclockwise
         // essential for triangulating!
+        // (the robust orientation test, as the in-circle test
+        // in circumcircleContains() relies on it even for slivers)
         
-        double sum = (b.getX() - a.getX())*
-                     (b.getY() + a.getY()) + 
-                     (c.getX() - b.getX())*
-                     (c.getY() + b.getY()) +
-                     (a.getX() - c.getX())*
-                     (a.getY() + c.getY());
-        
-        if (sum > 0) {
+        if (Predicates.orient2d(a, b, c) < 0) {
             Point temp = a;
             a = b;
             b = temp;
@@ -437,8 +432,23 @@ public class Triangle implements Cloneable {
             return false;
         }
             
-        Circle cr = new Circle(this.getA(), this.getB(), this.getC());
-        return cr.isInside(t2.getIth((s2.ordinal()+2) % 3));
+        return circumcircleContains(t2.getIth((s2.ordinal()+2) % 3));
+    }
+    
+    /**
+     * Determines whether a point lies inside the circumcircle of the triangle.
+     * Uses the in-circle determinant on the raw coordinates,
+     * so that no Circle is constructed.
+     * 
+     * @param p The point
+     * @return true, if the point lies strictly inside the circumcircle,
+     *         false otherwise
+     */
+    public boolean circumcircleContains(Point p) {
+        
+        // The triangle is counterclockwise, so the in-circle test applies directly
+        return Predicates.incircle(a.getX(), a.getY(), b.getX(), b.getY(),
+                                   c.getX(), c.getY(), p.getX(), p.getY()) > 0;
     }
     
     
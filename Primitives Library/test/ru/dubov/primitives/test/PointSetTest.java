@@ -0,0 +1,29 @@
+package ru.dubov.primitives.test;
+
+import junit.framework.TestCase;
+import ru.dubov.primitives.PointSet;
+
+
+public class PointSetTest extends TestCase {
+    
+    public void testAdd() {
+        
+        // Built on empty arrays, on arrays and with the default capacity
+        PointSet[] sets = {new PointSet(new double[0], new double[0]),
+                           new PointSet(new double[] {-1}, new double[] {-2}),
+                           new PointSet()};
+        
+        for (PointSet points : sets) {
+            int size = points.size();
+            for (int i = 0; i < 100; i++) {
+                points.add(i, 2 * i);
+            }
+            
+            assertEquals(size + 100, points.size());
+            for (int i = 0; i < 100; i++) {
+                assertEquals((double)i, points.getX(size + i));
+                assertEquals((double)(2 * i), points.getY(size + i));
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package ru.dubov.primitives.test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import junit.framework.TestCase;
+import ru.dubov.primitives.Predicates;
+
+
+public class PredicatesTest extends TestCase {
+    
+    /**
+     * The sign of the orientation determinant in exact arithmetic
+     * (a double converts to BigDecimal exactly).
+     */
+    private int exactOrient2d(double ax, double ay, double bx, double by,
+                              double cx, double cy) {
+        
+        BigDecimal acx = exact(ax).subtract(exact(cx)), bcy = exact(by).subtract(exact(cy));
+        BigDecimal acy = exact(ay).subtract(exact(cy)), bcx = exact(bx).subtract(exact(cx));
+        
+        return acx.multiply(bcy).subtract(acy.multiply(bcx)).signum();
+    }
+    
+    /**
+     * The sign of the in-circle determinant in exact arithmetic.
+     */
+    private int exactIncircle(double ax, double ay, double bx, double by,
+                              double cx, double cy, double dx, double dy) {
+        
+        BigDecimal adx = exact(ax).subtract(exact(dx)), ady = exact(ay).subtract(exact(dy));
+        BigDecimal bdx = exact(bx).subtract(exact(dx)), bdy = exact(by).subtract(exact(dy));
+        BigDecimal cdx = exact(cx).subtract(exact(dx)), cdy = exact(cy).subtract(exact(dy));
+        
+        BigDecimal aLift = adx.multiply(adx).add(ady.multiply(ady));
+        BigDecimal bLift = bdx.multiply(bdx).add(bdy.multiply(bdy));
+        BigDecimal cLift = cdx.multiply(cdx).add(cdy.multiply(cdy));
+        
+        return aLift.multiply(bdx.multiply(cdy).subtract(cdx.multiply(bdy)))
+                    .add(bLift.multiply(cdx.multiply(ady).subtract(adx.multiply(cdy))))
+                    .add(cLift.multiply(adx.multiply(bdy).subtract(bdx.multiply(ady))))
+                    .signum();
+    }
+    
+    private BigDecimal exact(double x) {
+        return new BigDecimal(x);
+    }
+    
+    private int sign(double x) {
+        return (int)Math.signum(x);
+    }
+    
+    private void checkOrient2d(double ax, double ay, double bx, double by, double cx, double cy) {
+        assertEquals(exactOrient2d(ax, ay, bx, by, cx, cy),
+                     sign(Predicates.orient2d(ax, ay, bx, by, cx, cy)));
+    }
+    
+    private void checkIncircle(double ax, double ay, double bx, double by,
+                               double cx, double cy, double dx, double dy) {
+        assertEquals(exactIncircle(ax, ay, bx, by, cx, cy, dx, dy),
+                     sign(Predicates.incircle(ax, ay, bx, by, cx, cy, dx, dy)));
+    }
+    
+    public void testOrient2d_NextUpPerturbations() {
+        
+        // The point a is moved by a few ulps around (0.5, 0.5),
+        // which is almost on the line through b and c
+        double bx = 12, by = 12, cx = 24, cy = 24;
+        double ax = 0.5;
+        for (int i = 0; i < 64; i++, ax = Math.nextUp(ax)) {
+            double ay = 0.5;
+            for (int j = 0; j < 64; j++, ay = Math.nextUp(ay)) {
+                checkOrient2d(ax, ay, bx, by, cx, cy);
+                checkOrient2d(bx, by, cx, cy, ax, ay);
+                checkOrient2d(cx, cy, ax, ay, bx, by);
+            }
+        }
+    }
+    
+    public void testOrient2d_ScaledGrid() {
+        Random rand = new Random();
+        
+        // Integer points on a line, scaled by an inexact factor
+        // and shifted far from the origin
+        double[] scales = {0.1, 1.0 / 3, 1e-7, 1e9};
+        for (double scale : scales) {
+            for (int test = 0; test < 10000; test++) {
+                double offset = 1e6 * rand.nextInt(1000);
+                int k1 = rand.nextInt(1000), k2 = rand.nextInt(1000), k3 = rand.nextInt(1000);
+                checkOrient2d(offset + k1 * scale, offset + (3 * k1 + 1) * scale,
+                              offset + k2 * scale, offset + (3 * k2 + 1) * scale,
+                              offset + k3 * scale, offset + (3 * k3 + 1) * scale);
+            }
+        }
+    }
+    
+    public void testOrient2d_Collinear() {
+        Random rand = new Random();
+        
+        // Exactly representable collinear points give exactly zero
+        for (int test = 0; test < 10000; test++) {
+            double offset = Math.scalb(1.0, 20 + rand.nextInt(30));
+            long k1 = rand.nextInt(1 << 20), k2 = rand.nextInt(1 << 20), k3 = rand.nextInt(1 << 20);
+            assertEquals(0.0, Predicates.orient2d(offset + k1, offset + 2 * k1,
+                                                  offset + k2, offset + 2 * k2,
+                                                  offset + k3, offset + 2 * k3));
+        }
+        
+        assertEquals(0.0, Predicates.orient2d(0, 0, 0, 0, 1, 1));
+        assertTrue(Predicates.orient2d(0, 0, 1, 0, 0, 1) > 0);
+        assertTrue(Predicates.orient2d(0, 0, 0, 1, 1, 0) < 0);
+    }
+    
+    public void testIncircle_Cocircular() {
+        
+        // Integer points on the circle of radius 5 (ccw)
+        double[][] circle = {{5, 0}, {4, 3}, {3, 4}, {0, 5}, {-3, 4}, {-4, 3},
+                             {-5, 0}, {-4, -3}, {0, -5}, {3, -4}};
+        
+        for (double offset : new double[] {0, 1e6, Math.scalb(1.0, 40)}) {
+            for (int a = 0; a < circle.length; a++) {
+                for (int b = a + 1; b < circle.length; b++) {
+                    for (int c = b + 1; c < circle.length; c++) {
+                        for (int d = 0; d < circle.length; d++) {
+                            assertEquals(0.0, Predicates.incircle(
+                                    offset + circle[a][0], offset + circle[a][1],
+                                    offset + circle[b][0], offset + circle[b][1],
+                                    offset + circle[c][0], offset + circle[c][1],
+                                    offset + circle[d][0], offset + circle[d][1]));
+                        }
+                    }
+                }
+            }
+        }
+    }
+    
+    public void testIncircle_NextUpPerturbations() {
+        
+        // The point d is moved by a few ulps around a point on the circle
+        // of radius 5k, so that the products in the determinant are rounded
+        double k = 1000003;
+        double ax = 5 * k, ay = 0, bx = 0, by = 5 * k, cx = -5 * k, cy = 0;
+        
+        double dx = Math.nextDown(Math.nextDown(3 * k));
+        for (int i = 0; i < 5; i++, dx = Math.nextUp(dx)) {
+            double dy = Math.nextDown(Math.nextDown(-4 * k));
+            for (int j = 0; j < 5; j++, dy = Math.nextUp(dy)) {
+                checkIncircle(ax, ay, bx, by, cx, cy, dx, dy);
+                checkIncircle(bx, by, cx, cy, dx, dy, ax, ay);
+            }
+        }
+        
+        // Exactly on the circle
+        assertEquals(0.0, Predicates.incircle(ax, ay, bx, by, cx, cy, 3 * k, -4 * k));
+    }
+    
+    public void testIncircle_ScaledGrid() {
+        Random rand = new Random();
+        
+        // Points of a small integer grid, scaled by an inexact factor:
+        // many quadruples are cocircular before the rounding
+        double[] scales = {0.1, 1.0 / 3, 1e-7};
+        for (double scale : scales) {
+            for (int test = 0; test < 10000; test++) {
+                double offset = 1e3 * rand.nextInt(1000);
+                double[] p = new double[8];
+                for (int i = 0; i < 8; i++) {
+                    p[i] = offset + rand.nextInt(8) * scale;
+                }
+                checkIncircle(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7]);
+            }
+        }
+    }
+}
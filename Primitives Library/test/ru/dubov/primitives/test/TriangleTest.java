@@ -0,0 +1,84 @@
+package ru.dubov.primitives.test;
+
+import java.util.Random;
+import junit.framework.TestCase;
+import ru.dubov.primitives.Point;
+import ru.dubov.primitives.Predicates;
+import ru.dubov.primitives.Triangle;
+
+
+public class TriangleTest extends TestCase {
+    
+    public void testCircumcircleContains() {
+        
+        // The circumcircle is centered at (0, 0) with radius 5;
+        // the vertices are given clockwise, and the triangle reorders them
+        Triangle t = new Triangle(new Point(5, 0), new Point(-3, -4), new Point(0, 5));
+        
+        assertTrue(t.circumcircleContains(new Point(0, 0)));
+        assertTrue(t.circumcircleContains(new Point(4.9, 0)));
+        assertTrue(t.circumcircleContains(new Point(-3, 3.99)));
+        
+        assertFalse(t.circumcircleContains(new Point(5.1, 0)));
+        assertFalse(t.circumcircleContains(new Point(10, 10)));
+        assertFalse(t.circumcircleContains(new Point(-3, -4.01)));
+        
+        // Exactly on the circle (and the vertices themselves)
+        assertFalse(t.circumcircleContains(new Point(4, 3)));
+        assertFalse(t.circumcircleContains(new Point(-5, 0)));
+        assertFalse(t.circumcircleContains(new Point(3, -4)));
+        assertFalse(t.circumcircleContains(new Point(5, 0)));
+        assertFalse(t.circumcircleContains(new Point(0, 5)));
+    }
+    
+    public void testCircumcircleContains_Sliver() {
+        
+        // The vertex a lies just above the line through b and c: the triangle
+        // is counterclockwise, though a floating-point shoelace sum says otherwise
+        Point a = new Point(1050.6, 1150.80202020202);
+        Point b = new Point(1001, 1001);
+        Point c = new Point(1100, 1300);
+        
+        for (Triangle t : new Triangle[] {new Triangle(a, b, c), new Triangle(b, a, c)}) {
+            assertTrue(Predicates.orient2d(t.getA(), t.getB(), t.getC()) > 0);
+            
+            // The circumcircle is huge, and its center lies below the line
+            assertTrue(t.circumcircleContains(new Point(1050.6, 1149.8)));
+            assertFalse(t.circumcircleContains(new Point(1050.6, 1151.8)));
+        }
+    }
+    
+    public void testCircumcircleContains_Randomised() {
+        Random rand = new Random();
+        
+        for (int test = 0; test < 1000; test++) {
+            Point a = new Point(rand.nextDouble()*100, rand.nextDouble()*100);
+            Point b = new Point(rand.nextDouble()*100, rand.nextDouble()*100);
+            Point c = new Point(rand.nextDouble()*100, rand.nextDouble()*100);
+            Triangle t = new Triangle(a, b, c);
+            
+            // The circumcenter and the squared radius
+            double d = 2 * (a.getX() * (b.getY() - c.getY()) + b.getX() * (c.getY() - a.getY()) +
+                            c.getX() * (a.getY() - b.getY()));
+            if (Math.abs(d) < 1e-3) {
+                continue;
+            }
+            double aa = a.getX() * a.getX() + a.getY() * a.getY();
+            double bb = b.getX() * b.getX() + b.getY() * b.getY();
+            double cc = c.getX() * c.getX() + c.getY() * c.getY();
+            double ox = (aa * (b.getY() - c.getY()) + bb * (c.getY() - a.getY()) + cc * (a.getY() - b.getY())) / d;
+            double oy = (aa * (c.getX() - b.getX()) + bb * (a.getX() - c.getX()) + cc * (b.getX() - a.getX())) / d;
+            double r2 = (a.getX() - ox) * (a.getX() - ox) + (a.getY() - oy) * (a.getY() - oy);
+            
+            for (int i = 0; i < 10; i++) {
+                Point p = new Point(rand.nextDouble()*100, rand.nextDouble()*100);
+                double p2 = (p.getX() - ox) * (p.getX() - ox) + (p.getY() - oy) * (p.getY() - oy);
+                
+                // Skip the points too close to the circle for this check
+                if (Math.abs(p2 - r2) > 1e-6 * r2) {
+                    assertEquals(p2 < r2, t.circumcircleContains(p));
+                }
+            }
+        }
+    }
+}